@@ -0,0 +1,72 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures how long decoding and executing a single instruction takes,
+ * opcodes are picked from different decode groups so that the cost of
+ * finding the right handler can be compared
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DecoderBenchmark {
+
+    @Benchmark
+    public void decodeSingle(Single single) {
+        single.decoder.decode(single.opcode);
+    }
+
+    @Benchmark
+    public void decodeMix(Mix mix) {
+        mix.decoder.decode(mix.opcodes[mix.index]);
+        mix.index = (mix.index + 1) % mix.opcodes.length;
+    }
+
+    private static Decoder newDecoder() {
+        Memory m = new Memory();
+        return new Decoder(m, new Fetcher(m), new PixelManager(128, 64), new Keys(), new Configs());
+    }
+
+    /**
+     * one instruction from each opcode class, calls and returns are left out
+     * since they would grow or empty the stack, draws have their own benchmark
+     */
+    @State(Scope.Thread)
+    public static class Single {
+
+        @Param({"0x00E0", "0x00FB", "0x1300", "0x3A00", "0x4A00", "0x5AB0", "0x6A12", "0x7A01",
+            "0x8AB0", "0x8AB2", "0x8AB4", "0x8AB5", "0x8AB6", "0x8ABE", "0x9AB0", "0xA300", "0xB300",
+            "0xCA7F", "0xEA9E", "0xF007", "0xF01E", "0xF029", "0xF033", "0xF055", "0xF065"})
+        private String instruction;
+
+        private Decoder decoder;
+        private short opcode;
+
+        @Setup
+        public void setUp() {
+            this.decoder = newDecoder();
+            this.opcode = Integer.decode(instruction).shortValue();
+        }
+    }
+
+    /**
+     * typical instructions seen inside game loops, none of them touch pc or the display
+     */
+    @State(Scope.Thread)
+    public static class Mix {
+
+        private Decoder decoder;
+        private short[] opcodes;
+        private int index;
+
+        @Setup
+        public void setUp() {
+            this.decoder = newDecoder();
+            this.opcodes = new short[]{0x6A12, 0x7A01, (short) 0x8AB4, (short) 0x8AB5, (short) 0xA300, 0x3A00,
+                (short) 0xF01E, (short) 0xF065, 0x4B00, (short) 0x8AB2, (short) 0xF007, (short) 0x8AB0};
+        }
+    }
+}
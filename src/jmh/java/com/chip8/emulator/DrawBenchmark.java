@@ -0,0 +1,53 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DXYN sprite draws, x positions are picked so that sprites are either inside
+ * one display word, across the middle of the screen or wrapping around the edge
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DrawBenchmark {
+
+    @Param({"8", "60", "124"})
+    private int x;
+
+    private Decoder decoder;
+
+    @Setup
+    public void setUp() {
+        Memory m = new Memory();
+        PixelManager pixels = new PixelManager(128, 64);
+        pixels.setFade(false);
+        this.decoder = new Decoder(m, new Fetcher(m), pixels, new Keys(), new Configs());
+        for (int i = 0; i < 32; i++) {
+            m.write(0x300 + i, (byte) (0xA5 ^ i * 7));
+        }
+        m.setI((short) 0x300);
+        m.varReg(0, x);
+        m.varReg(1, 10);
+    }
+
+    @Benchmark
+    public void sprite8x5() {
+        decoder.getPixels().setResolutionMode(false);
+        decoder.decode((short) 0xD015);
+    }
+
+    @Benchmark
+    public void sprite8x15() {
+        decoder.getPixels().setResolutionMode(false);
+        decoder.decode((short) 0xD01F);
+    }
+
+    @Benchmark
+    public void sprite16x16() {
+        decoder.getPixels().setResolutionMode(true);
+        decoder.decode((short) 0xD010);
+    }
+}
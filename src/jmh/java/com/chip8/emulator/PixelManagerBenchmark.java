@@ -0,0 +1,105 @@
+package com.chip8.emulator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scrolling and fading on a display that has every other pixel lit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PixelManagerBenchmark {
+
+    @Benchmark
+    public void scrollDown(Scrolling s) {
+        s.pixels.scrollDown(4);
+        s.refill();
+    }
+
+    @Benchmark
+    public void scrollUp(Scrolling s) {
+        s.pixels.scrollUp(4);
+        s.refill();
+    }
+
+    @Benchmark
+    public void scrollLeft(Scrolling s) {
+        s.pixels.scrollLeft();
+        s.refill();
+    }
+
+    @Benchmark
+    public void scrollRight(Scrolling s) {
+        s.pixels.scrollRight();
+        s.refill();
+    }
+
+    @Benchmark
+    public void fade(Fading f) {
+        f.pixels.fade();
+    }
+
+    private static void fill(PixelManager pixels) {
+        Random random = new Random(1);
+        for (int y = 0; y < 64; y++) {
+            pixels.drawRow(0, y, random.nextInt(0x10000), 16, 1, 1);
+            pixels.drawRow(64, y, random.nextInt(0x10000), 16, 1, 1);
+        }
+    }
+
+    /**
+     * hires display with fade on, so scrolling also leaves fade trails
+     */
+    @State(Scope.Thread)
+    public static class Scrolling {
+
+        private PixelManager pixels;
+        private long[][] full;
+
+        @Setup
+        public void setUp() {
+            this.pixels = new PixelManager(128, 64);
+            pixels.setResolutionMode(true);
+            pixels.setFade(false);
+            fill(pixels);
+            this.full = new long[2][];
+            this.full[0] = pixels.getDisplay()[0].clone();
+            this.full[1] = pixels.getDisplay()[1].clone();
+            pixels.setFade(true);
+        }
+
+        /**
+         * puts the pixels back so every scroll sees the same display
+         */
+        void refill() {
+            System.arraycopy(full[0], 0, pixels.getDisplay()[0], 0, 128);
+            System.arraycopy(full[1], 0, pixels.getDisplay()[1], 0, 128);
+        }
+    }
+
+    /**
+     * every pixel of the display is fading, fade speed 0 keeps them fading forever
+     */
+    @State(Scope.Thread)
+    public static class Fading {
+
+        private PixelManager pixels;
+
+        @Setup
+        public void setUp() {
+            this.pixels = new PixelManager(128, 64);
+            pixels.setFade(false);
+            for (int y = 0; y < 64; y++) {
+                pixels.drawRow(0, y, -1, 32, 1, 1);
+                pixels.drawRow(32, y, -1, 32, 1, 1);
+                pixels.drawRow(64, y, -1, 32, 1, 1);
+                pixels.drawRow(96, y, -1, 32, 1, 1);
+            }
+            pixels.setFade(true);
+            pixels.clearDisplay();
+            pixels.setFadeSpeed(0);
+        }
+    }
+}
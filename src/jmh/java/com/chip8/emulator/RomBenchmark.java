@@ -0,0 +1,44 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import com.chip8.configs.DefaultValues;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * one full 60 hz frame of each bundled rom, without any ui,
+ * single stepped and through compiled blocks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RomBenchmark {
+
+    @Param({"IBM", "Particle Demo [zeroZshadow, 2008].ch8", "Pong [Paul Vervalin, 1990].ch8",
+        "Space Invaders [David Winter].ch8", "Trip8 Demo (2008) [Revival Studios].ch8"})
+    private String rom;
+
+    @Param({"30"})
+    private int cyclesPerFrame;
+
+    @Param({"false", "true"})
+    private boolean blockExecution;
+
+    private Executer executer;
+
+    @Setup
+    public void setUp() {
+        Configs configs = new Configs(new DefaultValues());
+        configs.setCyclesPerFrame(cyclesPerFrame);
+        configs.setBlockExecution(blockExecution);
+        configs.setPrintToConsole(false);
+        this.executer = new HeadlessRunner("roms/" + rom, configs).getExecuter();
+        executer.seed(0);
+    }
+
+    @Benchmark
+    public void frame() {
+        executer.frame(cyclesPerFrame);
+    }
+}
@@ -0,0 +1,133 @@
+package com.chip8;
+
+import com.chip8.configs.Configs;
+import com.chip8.configs.DefaultValues;
+import com.chip8.configs.QuirkProfile;
+import com.chip8.emulator.HeadlessRunner;
+import com.chip8.emulator.InputLog;
+import com.chip8.emulator.Profiler;
+import com.chip8.emulator.RomFarm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * runs a rom without javafx and prints the final display hash and speed,
+ * a directory runs every rom in it in parallel and prints a csv report
+ * usage: rom [--cycles n | --frames n | --replay file] [--ipf n] [--seed n] [--quirks chip8|schip|xochip|none] [--blocks on|off] [--profile file.csv|file.json]
+ * usage: directory [--cycles n | --frames n] [--threads n] [--ipf n] [--seed n] [--quirks chip8|schip|xochip|none] [--blocks on|off]
+ */
+public class Headless {
+
+    public static void main(String[] args) throws IOException {
+        // every option takes a value, so a trailing option without one is an error too
+        if (args.length == 0 || !new File(args[0]).exists() || args.length % 2 == 0) {
+            usage();
+        }
+        long cycles = 1_000_000;
+        long frames = -1;
+        long seed = 0;
+        InputLog replay = null;
+        String profile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        // saved configs are not read, so results don't depend on the working directory
+        Configs configs = new Configs(new DefaultValues());
+        for (int i = 1; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--cycles":
+                    cycles = Long.parseLong(args[i + 1]);
+                    break;
+                case "--frames":
+                    frames = Long.parseLong(args[i + 1]);
+                    break;
+                case "--ipf":
+                    configs.setCyclesPerFrame(Integer.parseInt(args[i + 1]));
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--replay":
+                    replay = InputLog.load(Paths.get(args[i + 1]));
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--profile":
+                    profile = args[i + 1];
+                    break;
+                case "--blocks":
+                    configs.setBlockExecution(!args[i + 1].equals("off"));
+                    break;
+                case "--quirks":
+                    QuirkProfile.valueOf(args[i + 1].toUpperCase()).apply(configs);
+                    break;
+                default:
+                    System.err.println("unknown option " + args[i]);
+                    usage();
+            }
+        }
+        if (new File(args[0]).isDirectory()) {
+            if (replay != null || profile != null) {
+                System.err.println("--replay and --profile only work with a single rom");
+                usage();
+            }
+            farm(args[0], configs, seed, threads, frames >= 0 ? frames : cycles / configs.getCyclesPerFrame());
+            return;
+        }
+        HeadlessRunner runner = new HeadlessRunner(args[0], configs);
+        runner.getExecuter().seed(seed);
+        Profiler profiler = profile == null ? null : new Profiler();
+        runner.getExecuter().setProfiler(profiler);
+        if (replay != null) {
+            runner.replay(replay);
+        } else if (frames >= 0) {
+            runner.runFrames(frames);
+        } else {
+            runner.run(cycles);
+        }
+        System.out.println("rom: " + args[0]);
+        System.out.println("instructions: " + runner.getInstructions());
+        System.out.printf("time: %.1f ms%n", runner.getNanos() / 1_000_000.0);
+        System.out.printf("ips: %.0f%n", runner.instructionsPerSecond());
+        System.out.printf("hash: %016x%n", runner.getPixels().displayHash());
+        if (runner.getExecuter().getDecoder().getFault() != null) {
+            System.out.println("fault: " + runner.getExecuter().getDecoder().getFault().getMessage());
+        }
+        if (profiler != null) {
+            String text = profile.endsWith(".json") ? profiler.toJson() : profiler.toCsv();
+            Files.write(Paths.get(profile), text.getBytes(StandardCharsets.UTF_8));
+            System.out.println("profile: " + profile);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: rom [--cycles n | --frames n | --replay file] [--ipf n] [--seed n] [--quirks chip8|schip|xochip|none] [--blocks on|off] [--profile file.csv|file.json]");
+        System.err.println("usage: directory [--cycles n | --frames n] [--threads n] [--ipf n] [--seed n] [--quirks chip8|schip|xochip|none] [--blocks on|off]");
+        System.exit(1);
+    }
+
+    private static void farm(String directory, Configs configs, long seed, int threads, long frames) throws IOException {
+        List<String> roms = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            files.filter(Files::isRegularFile).sorted().forEach(file -> roms.add(file.toString()));
+        }
+        configs.setPrintToConsole(false); // output of parallel roms would be mixed together
+        long start = System.nanoTime();
+        List<RomFarm.Result> results = new RomFarm(configs, seed, threads).run(roms, frames);
+        long wall = System.nanoTime() - start;
+        System.out.print(RomFarm.report(results));
+        long busy = 0;
+        for (RomFarm.Result result : results) {
+            busy += result.getNanos();
+        }
+        System.err.printf("%d roms, %d frames each, %d threads: %.1f ms wall, %.1f ms summed over roms (%.2fx)%n",
+                roms.size(), frames, threads, wall / 1e6, busy / 1e6, wall == 0 ? 0 : (double) busy / wall);
+    }
+}
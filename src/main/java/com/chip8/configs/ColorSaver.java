@@ -2,64 +2,43 @@ package com.chip8.configs;
 
 import javafx.scene.paint.Color;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
 
 /**
  * enables saving selected colors to a file
  */
 public class ColorSaver {
 
+    private final ConfigStore store = ConfigStore.get();
+
     /**
-     * saves colors to a file, uses keybinds in same file
+     * saves colors to a file, other sections of the file are kept as they are
      *
      * @param bg     color of background
      * @param sprite color of sprite
      * @param plane  color of xo plane
      * @param both   color of xo overlap
-     * @throws IOException exception if found file in wrong format
+     * @throws IOException exception if file could not be written
      */
     public void save(Color bg, Color sprite, Color plane, Color both) throws IOException {
-        File configFile = new File("chip8-configs.txt");
-
-        if (!configFile.exists()) {
-            configFile.createNewFile();
-        }
-
-        StringBuilder file = new StringBuilder();
-        Scanner sc = new Scanner(configFile);
-
-        for (int i = 0; i < 16; i++) {
-            file.append(sc.nextLine()).append("\n");
-        }
-
-        String colors = file + "bgColor:\n" + bg.toString() + "\nspriteColor:\n" + sprite.toString() + "\nplaneColor:\n" + plane.toString() + "\nbothColor:\n" + both.toString();
-        FileWriter fw = new FileWriter("chip8-configs.txt");
-        fw.write(colors);
-        fw.close();
+        store.set("bgColor:", bg);
+        store.set("spriteColor:", sprite);
+        store.set("planeColor:", plane);
+        store.set("bothColor:", both);
+        store.save();
     }
 
     /**
      * @param color bg or sprite color selection
      * @return returns the loaded color in Color.web(hex)
-     * @throws FileNotFoundException error if file does not exist
+     * @throws FileNotFoundException error if file or color does not exist
      */
     public String loadColor(String color) throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-        Scanner sc = new Scanner(configFile);
-
-        while (sc.hasNextLine()) {
-            if (sc.nextLine().equals(color)) {
-                color = sc.nextLine();
-            }
-        }
-        sc.close();
-        if (!color.matches("0x[0-9A-Fa-f]{8}")) {
+        String value = store.getString(color);
+        if (value == null || !value.matches("0x[0-9A-Fa-f]{8}")) {
             throw new FileNotFoundException();
         }
-        return color;
+        return value;
     }
 }
@@ -0,0 +1,166 @@
+package com.chip8.configs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * chip8-configs.txt read once into memory. savers and configs read from here,
+ * and every save writes the whole file again so sections can't wipe each other.
+ * file keeps the old layout: 16 keybind lines and then name and value line pairs
+ */
+public class ConfigStore {
+
+    private static final Path FILE = Paths.get("chip8-configs.txt");
+    // order sections were written in before, so older versions can still read the file
+    private static final List<String> ORDER = Arrays.asList("bgColor:", "spriteColor:", "planeColor:", "bothColor:",
+            "printToConsole:", "symbol:", "disableUiUpdates:", "roundPixels:", "blur:", "glow:", "blurValue:",
+            "glowValue:", "quirkShift:", "quirkJump:", "quirkIndex:", "quirkOrder:");
+    private static ConfigStore shared;
+
+    private final Path file;
+    private boolean loaded; // false if there was no file to read
+    private String[] binds; // null if file didn't have keybinds
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    /**
+     * @param file config file to read and write
+     */
+    public ConfigStore(Path file) {
+        this.file = file;
+        this.reload();
+    }
+
+    /**
+     * @return store for chip8-configs.txt in the working directory, read on first use
+     */
+    public static synchronized ConfigStore get() {
+        if (shared == null) {
+            shared = new ConfigStore(FILE);
+        }
+        return shared;
+    }
+
+    /**
+     * reads the file again, drops anything that was not saved
+     */
+    public synchronized void reload() {
+        this.values.clear();
+        this.binds = null;
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            this.loaded = false;
+            return;
+        }
+        this.loaded = true;
+        if (lines.size() >= 16) {
+            this.binds = lines.subList(0, 16).toArray(new String[0]);
+        }
+        for (int i = 16; i + 1 < lines.size(); i += 2) {
+            values.put(lines.get(i), lines.get(i + 1));
+        }
+    }
+
+    /**
+     * @return true if the file was there when it was read, or has been saved since
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return copy of the keybinds, null if there are none
+     */
+    public synchronized String[] getBinds() {
+        return binds == null ? null : binds.clone();
+    }
+
+    /**
+     * @param binds 16 keybinds
+     */
+    public synchronized void setBinds(String[] binds) {
+        this.binds = Arrays.copyOf(binds, 16);
+    }
+
+    /**
+     * @param name name of the value with the colon, like "blur:"
+     * @return saved value, null if there is none
+     */
+    public synchronized String getString(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * @param name name of the value with the colon
+     * @return saved value, false if there is none
+     */
+    public synchronized boolean getBoolean(String name) {
+        return Boolean.parseBoolean(values.get(name));
+    }
+
+    /**
+     * @param name name of the value with the colon
+     * @return saved value, 0 if there is none
+     * @throws NumberFormatException if saved value is not a number
+     */
+    public synchronized double getDouble(String name) {
+        String value = values.get(name);
+        return value == null ? 0.0 : Double.parseDouble(value);
+    }
+
+    /**
+     * @param name  name of the value with the colon
+     * @param value value to keep, written to the file on the next save
+     */
+    public synchronized void set(String name, Object value) {
+        this.values.put(name, String.valueOf(value));
+    }
+
+    /**
+     * writes everything to a temporary file and moves it over the config file,
+     * so the file is never left half written
+     *
+     * @throws IOException if file could not be written
+     */
+    public synchronized void save() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String[] layout = binds != null ? binds : new String[16];
+        for (int i = 0; i < 16; i++) {
+            String bind = layout[i] != null ? layout[i] : new DefaultValues().getRebindLayout().substring(i, i + 1);
+            sb.append(bind).append('\n');
+        }
+        for (String name : ORDER) {
+            if (values.containsKey(name)) {
+                sb.append(name).append('\n').append(values.get(name)).append('\n');
+            }
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!ORDER.contains(entry.getKey())) {
+                sb.append(entry.getKey()).append('\n').append(entry.getValue()).append('\n');
+            }
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, "chip8-configs", ".tmp");
+        try {
+            Files.write(temp, sb.toString().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        this.loaded = true;
+    }
+}
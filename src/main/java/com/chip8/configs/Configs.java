@@ -25,8 +25,16 @@ public class Configs {
     private boolean quirkJump;
     private boolean quirkIncrementIndex;
     private boolean quirkOrder;
+    private int cyclesPerFrame; // instructions executed between 60 hz timer ticks
+    private int rewindMegabytes; // memory cap for rewind history
+    private int stackDepth; // max amount of return addresses on the stack
+    private boolean blockExecution; // run basic blocks instead of single instructions
 
+    /**
+     * configs saved in chip8-configs.txt, defaults for anything that is not saved
+     */
     public Configs() {
+        this(new DefaultValues());
         try {
             ConfigsSaver configsSaver = new ConfigsSaver();
             this.printToConsole = configsSaver.loadState("printToConsole:");
@@ -43,21 +51,39 @@ public class Configs {
             this.quirkIncrementIndex = quirkSaver.loadState("quirkIndex:");
             this.quirkOrder = quirkSaver.loadState("quirkOrder:");
         } catch (Exception ignored) {
-            DefaultValues d = new DefaultValues();
-            this.printToConsole = d.isPrintToConsole();
-            this.disableUiUpdates = d.isDisableUiUpdates();
-            this.printSymbol = d.getPrintSymbol();
-            this.roundPixels = d.isRoundPixels();
-            this.blur = d.isBlur();
-            this.glow = d.isGlow();
-            this.blurValue = d.getBlurValue();
-            this.glowValue = d.getGlowValue();
-            this.quirkShift = d.isQuirkShift();
-            this.quirkJump = d.isQuirkJump();
-            this.quirkIncrementIndex = d.isQuirkIndex();
-            this.quirkOrder = d.isQuirkOrder();
+            // a partly read file falls back to defaults as a whole
+            this.copyDefaults(new DefaultValues());
         }
+    }
+
+    /**
+     * configs with only the default values, config file is not read.
+     * used when results must not depend on the working directory
+     *
+     * @param d default values to use
+     */
+    public Configs(DefaultValues d) {
+        this.copyDefaults(d);
         this.spriteExtracting = false;
+        this.cyclesPerFrame = d.getCyclesPerFrame();
+        this.rewindMegabytes = d.getRewindMegabytes();
+        this.stackDepth = d.getStackDepth();
+        this.blockExecution = d.isBlockExecution();
+    }
+
+    private void copyDefaults(DefaultValues d) {
+        this.printToConsole = d.isPrintToConsole();
+        this.disableUiUpdates = d.isDisableUiUpdates();
+        this.printSymbol = d.getPrintSymbol();
+        this.roundPixels = d.isRoundPixels();
+        this.blur = d.isBlur();
+        this.glow = d.isGlow();
+        this.blurValue = d.getBlurValue();
+        this.glowValue = d.getGlowValue();
+        this.quirkShift = d.isQuirkShift();
+        this.quirkJump = d.isQuirkJump();
+        this.quirkIncrementIndex = d.isQuirkIndex();
+        this.quirkOrder = d.isQuirkOrder();
     }
 
 }
@@ -1,18 +1,17 @@
 package com.chip8.configs;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
 
 /**
  * enables saving configs to a file
  */
 public class ConfigsSaver {
 
+    private final ConfigStore store = ConfigStore.get();
+
     /**
-     * saves configs, appends them to config file after keybindings and colors
+     * saves configs, other sections of the config file are kept as they are
      *
      * @param print       if printing to console is on
      * @param symbol      what symbol to use when printing
@@ -21,25 +20,15 @@ public class ConfigsSaver {
      * @throws IOException error in file handling
      */
     public void save(boolean print, String symbol, boolean uiUpdates, boolean roundPixels, boolean blur, boolean glow, double blurValue, double glowValue) throws IOException {
-        File configFile = new File("chip8-configs.txt");
-
-        if (!configFile.exists()) {
-            configFile.createNewFile();
-        }
-
-        StringBuilder file = new StringBuilder();
-        Scanner sc = new Scanner(configFile);
-
-        for (int i = 0; i < 24; i++) {
-            file.append(sc.nextLine()).append("\n");
-        }
-
-        String configs = file + "printToConsole:\n" + print + "\nsymbol:\n" + symbol + "\ndisableUiUpdates:\n" + uiUpdates
-                + "\nroundPixels:\n" + roundPixels + "\nblur:\n" + blur + "\nglow:\n" + glow + "\nblurValue:\n" + blurValue
-                + "\nglowValue:\n" + glowValue;
-        FileWriter fw = new FileWriter("chip8-configs.txt");
-        fw.write(configs);
-        fw.close();
+        store.set("printToConsole:", print);
+        store.set("symbol:", symbol);
+        store.set("disableUiUpdates:", uiUpdates);
+        store.set("roundPixels:", roundPixels);
+        store.set("blur:", blur);
+        store.set("glow:", glow);
+        store.set("blurValue:", blurValue);
+        store.set("glowValue:", glowValue);
+        store.save();
     }
 
 
@@ -48,17 +37,9 @@ public class ConfigsSaver {
      * @throws FileNotFoundException if file is missing
      */
     public String loadSymbol() throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-        Scanner sc = new Scanner(configFile);
-        String symbol = "";
-
-        while (sc.hasNextLine()) {
-            if (sc.nextLine().equals("symbol:")) {
-                symbol = sc.nextLine();
-            }
-        }
-        sc.close();
-        return symbol;
+        this.checkLoaded();
+        String symbol = store.getString("symbol:");
+        return symbol == null ? "" : symbol;
     }
 
     /**
@@ -67,30 +48,18 @@ public class ConfigsSaver {
      * @throws FileNotFoundException if file missing
      */
     public boolean loadState(String state) throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-        Scanner sc = new Scanner(configFile);
-        boolean getter = false;
-
-        while (sc.hasNextLine()) {
-            if (sc.nextLine().equals(state)) {
-                getter = Boolean.parseBoolean(sc.nextLine());
-            }
-        }
-        sc.close();
-        return getter;
+        this.checkLoaded();
+        return store.getBoolean(state);
     }
 
     public double loadValue(String val) throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-        Scanner sc = new Scanner(configFile);
-        double getter = 0.0;
+        this.checkLoaded();
+        return store.getDouble(val);
+    }
 
-        while (sc.hasNextLine()) {
-            if (sc.nextLine().equals(val)) {
-                getter = Double.parseDouble(sc.nextLine());
-            }
+    private void checkLoaded() throws FileNotFoundException {
+        if (!store.isLoaded()) {
+            throw new FileNotFoundException("chip8-configs.txt");
         }
-        sc.close();
-        return getter;
     }
 }
@@ -26,6 +26,10 @@ public class DefaultValues {
     private boolean quirkJump;
     private boolean quirkIndex;
     private boolean quirkOrder;
+    private int cyclesPerFrame;
+    private int rewindMegabytes;
+    private int stackDepth;
+    private boolean blockExecution;
 
     /**
      * edit these if you want to change some default values
@@ -49,5 +53,9 @@ public class DefaultValues {
         this.quirkJump = false;
         this.quirkIndex = false;
         this.quirkOrder = false;
+        this.cyclesPerFrame = 30;
+        this.rewindMegabytes = 32;
+        this.stackDepth = 64;
+        this.blockExecution = true;
     }
 }
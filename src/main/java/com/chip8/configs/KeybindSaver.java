@@ -2,11 +2,8 @@ package com.chip8.configs;
 
 import lombok.Data;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
 
 /**
  * enables saving set keybinds to a file
@@ -14,42 +11,28 @@ import java.util.Scanner;
 @Data
 public class KeybindSaver {
 
+    private final ConfigStore store = ConfigStore.get();
+
     /**
-     * @param binds array of binds for keyboard
+     * @param binds array of binds for keyboard, other sections of the file are kept as they are
      * @throws IOException if error occurs in format
      */
     public void save(String[] binds) throws IOException {
-        File configFile = new File("chip8-configs.txt");
-
-        if (!configFile.exists()) {
-            configFile.createNewFile();
-        }
-
-        StringBuilder keybinds = new StringBuilder();
-        for (int i = 0; i < 16; i++) {
-            keybinds.append(binds[i]).append("\n");
-        }
-        FileWriter fw = new FileWriter("chip8-configs.txt");
-        fw.write(keybinds.toString());
-        fw.close();
+        store.setBinds(binds);
+        store.save();
     }
 
     /**
      * loads keybinds from the file
      *
      * @return loaded binds in string array
-     * @throws FileNotFoundException if file does not exist
+     * @throws FileNotFoundException if file does not exist or has no keybinds
      */
     public String[] load() throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-
-        Scanner sc = new Scanner(configFile);
-        String[] binds = new String[16];
-
-        for (int i = 0; i < 16; i++) {
-            binds[i] = sc.nextLine();
+        String[] binds = store.getBinds();
+        if (binds == null) {
+            throw new FileNotFoundException("chip8-configs.txt");
         }
-        sc.close();
         return binds;
     }
 }
@@ -0,0 +1,39 @@
+package com.chip8.configs;
+
+/**
+ * common quirk combinations for different chip-8 platforms
+ */
+public enum QuirkProfile {
+
+    CHIP8(true, false, true, false, 16),
+    SCHIP(false, true, false, false, 64),
+    XOCHIP(true, false, true, false, 64),
+    NONE(false, false, false, false, 64);
+
+    private final boolean shift;
+    private final boolean jump;
+    private final boolean index;
+    private final boolean order;
+    private final int stackDepth;
+
+    QuirkProfile(boolean shift, boolean jump, boolean index, boolean order, int stackDepth) {
+        this.shift = shift;
+        this.jump = jump;
+        this.index = index;
+        this.order = order;
+        this.stackDepth = stackDepth;
+    }
+
+    /**
+     * sets quirks and stack depth of the profile to configs
+     *
+     * @param configs configs used by the emulator
+     */
+    public void apply(Configs configs) {
+        configs.setQuirkShift(shift);
+        configs.setQuirkJump(jump);
+        configs.setQuirkIncrementIndex(index);
+        configs.setQuirkOrder(order);
+        configs.setStackDepth(stackDepth);
+    }
+}
@@ -1,18 +1,17 @@
 package com.chip8.configs;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
 
 /**
  * allows saving quirks to a file
  */
 public class QuirkSaver {
 
+    private final ConfigStore store = ConfigStore.get();
+
     /**
-     * saves quirk states to file
+     * saves quirk states to file, other sections of the file are kept as they are
      *
      * @param shift if quirk is used for shifting instructions
      * @param jump  if quirk is used for jump with offset instruction
@@ -20,23 +19,11 @@ public class QuirkSaver {
      * @throws IOException
      */
     public void save(boolean shift, boolean jump, boolean index, boolean order) throws IOException {
-        File configFile = new File("chip8-configs.txt");
-
-        if (!configFile.exists()) {
-            configFile.createNewFile();
-        }
-
-        StringBuilder file = new StringBuilder();
-        Scanner sc = new Scanner(configFile);
-
-        for (int i = 0; i < 40; i++) {
-            file.append(sc.nextLine()).append("\n");
-        }
-
-        String configs = file + "quirkShift:\n" + shift + "\nquirkJump:\n" + jump + "\nquirkIndex:\n" + index + "\nquirkOrder:\n" + order;
-        FileWriter fw = new FileWriter("chip8-configs.txt");
-        fw.write(configs);
-        fw.close();
+        store.set("quirkShift:", shift);
+        store.set("quirkJump:", jump);
+        store.set("quirkIndex:", index);
+        store.set("quirkOrder:", order);
+        store.save();
     }
 
     /**
@@ -45,16 +32,9 @@ public class QuirkSaver {
      * @throws FileNotFoundException if file missing
      */
     public boolean loadState(String state) throws FileNotFoundException {
-        File configFile = new File("chip8-configs.txt");
-        Scanner sc = new Scanner(configFile);
-        boolean getter = false;
-
-        while (sc.hasNextLine()) {
-            if (sc.nextLine().equals(state)) {
-                getter = Boolean.parseBoolean(sc.nextLine());
-            }
+        if (!store.isLoaded()) {
+            throw new FileNotFoundException("chip8-configs.txt");
         }
-        sc.close();
-        return getter;
+        return store.getBoolean(state);
     }
 }
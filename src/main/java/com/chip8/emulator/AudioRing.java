@@ -0,0 +1,66 @@
+package com.chip8.emulator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * lock-free ring buffer for audio samples between one writer and one reader.
+ * writer is the emulation thread and reader the thread that feeds the sound card,
+ * neither of them ever waits for the other
+ */
+public class AudioRing {
+
+    private final byte[] buffer;
+    private final int mask;
+    private final AtomicLong head; // next sample to read
+    private final AtomicLong tail; // next sample to write
+
+    /**
+     * @param size amount of samples that fit in, rounded up to power of two
+     */
+    public AudioRing(int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.buffer = new byte[capacity];
+        this.mask = capacity - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * writes as many samples as fit, rest are dropped
+     *
+     * @param samples samples to write
+     * @param length  amount of samples
+     * @return amount of samples written
+     */
+    public int write(byte[] samples, int length) {
+        long t = tail.get();
+        int n = (int) Math.min(length, buffer.length - (t - head.get()));
+        for (int i = 0; i < n; i++) {
+            this.buffer[(int) (t + i) & mask] = samples[i];
+        }
+        this.tail.lazySet(t + n);
+        return n;
+    }
+
+    /**
+     * @param samples array to read to
+     * @param length  max amount of samples to read
+     * @return amount of samples read, 0 if empty
+     */
+    public int read(byte[] samples, int length) {
+        long h = head.get();
+        int n = (int) Math.min(length, tail.get() - h);
+        for (int i = 0; i < n; i++) {
+            samples[i] = buffer[(int) (h + i) & mask];
+        }
+        this.head.lazySet(h + n);
+        return n;
+    }
+
+    /**
+     * @return amount of samples waiting to be read
+     */
+    public int available() {
+        return (int) (tail.get() - head.get());
+    }
+}
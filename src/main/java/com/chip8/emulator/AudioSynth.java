@@ -0,0 +1,54 @@
+package com.chip8.emulator;
+
+/**
+ * generates audio samples on every timer tick. the 16-byte audio buffer is
+ * played as a 128 bit pattern, one bit at a time, at the rate set by the pitch register.
+ * plain chip-8 roms use the default pattern from memory
+ */
+public class AudioSynth {
+
+    public static final int SAMPLE_RATE = 44100;
+    private static final int SAMPLES_PER_TICK = SAMPLE_RATE / FrameScheduler.FRAME_RATE;
+    private static final byte VOLUME = 24;
+
+    private final AudioRing ring;
+    private final byte[] samples;
+    private double position; // bit position in the pattern, kept between ticks so there are no clicks
+
+    /**
+     * @param ring ring buffer where the samples are written
+     */
+    public AudioSynth(AudioRing ring) {
+        this.ring = ring;
+        this.samples = new byte[SAMPLES_PER_TICK];
+    }
+
+    /**
+     * writes one tick worth of samples if sound timer is running
+     *
+     * @param m memory with the sound timer, pitch and audio buffer
+     */
+    public void tick(Memory m) {
+        if (m.getSoundTimer() == 0) {
+            this.position = 0;
+            return;
+        }
+        byte[] pattern = m.getAudio();
+        double step = frequency(m.getPitch()) / SAMPLE_RATE;
+        for (int i = 0; i < SAMPLES_PER_TICK; i++) {
+            int bit = (int) position;
+            boolean on = (pattern[bit >> 3] & (0x80 >> (bit & 7))) != 0;
+            this.samples[i] = on ? VOLUME : -VOLUME;
+            this.position = (position + step) % 128;
+        }
+        ring.write(samples, SAMPLES_PER_TICK);
+    }
+
+    /**
+     * @param pitch pitch register value
+     * @return bits played per second
+     */
+    static double frequency(int pitch) {
+        return 4000 * Math.pow(2, (pitch - 64) / 48.0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.chip8.emulator;
+
+/**
+ * straight-line run of instructions that is executed at once,
+ * only the last instruction can change the flow of the program
+ */
+public class Block {
+
+    private final int start;
+    private final Instruction[] handlers;
+    private final short[] opcodes;
+    private final int generation;
+
+    /**
+     * @param start      ram address of the first instruction
+     * @param handlers   decoded handlers in program order
+     * @param opcodes    opcodes for the handlers
+     * @param generation decode cache generation the block was compiled in
+     */
+    public Block(int start, Instruction[] handlers, short[] opcodes, int generation) {
+        this.start = start;
+        this.handlers = handlers;
+        this.opcodes = opcodes;
+        this.generation = generation;
+    }
+
+    /**
+     * runs the instructions in the block, pc is handled
+     * the same way as when fetching them one by one
+     *
+     * @param m       memory used by the emulator
+     * @param fetcher fetcher that keeps the current opcode
+     * @param decoder decoder that executes the handlers
+     * @param max     max amount of instructions to run, the rest of the block is left for later
+     * @return amount of instructions executed
+     */
+    public int run(Memory m, Fetcher fetcher, Decoder decoder, int max) {
+        int count = Math.min(max, handlers.length);
+        int pc = start;
+        for (int i = 0; i < count; i++) {
+            pc += 2;
+            m.setPc((short) pc);
+            decoder.execute(handlers[i], opcodes[i]);
+        }
+        fetcher.setOpcode(opcodes[count - 1]);
+        return count;
+    }
+
+    /**
+     * @return amount of instructions in the block
+     */
+    public int size() {
+        return handlers.length;
+    }
+
+    /**
+     * @return decode cache generation the block was compiled in
+     */
+    public int getGeneration() {
+        return generation;
+    }
+}
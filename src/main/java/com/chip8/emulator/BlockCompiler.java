@@ -0,0 +1,99 @@
+package com.chip8.emulator;
+
+/**
+ * finds basic blocks from ram and caches them by their start address.
+ * block ends at the first instruction that can jump, skip, draw or write
+ * to ram, so everything before it always runs in order
+ */
+public class BlockCompiler {
+
+    private static final int MAX_BLOCK = 64;
+
+    private final Memory m;
+    private final Fetcher fetcher;
+    private final Block[] blocks;
+
+    /**
+     * @param m       memory where the code is
+     * @param fetcher fetcher used to read opcodes
+     */
+    public BlockCompiler(Memory m, Fetcher fetcher) {
+        this.m = m;
+        this.fetcher = fetcher;
+        this.blocks = new Block[0xFFF];
+    }
+
+    /**
+     * @param start address of the first instruction, has to be below 0xFFF
+     * @return compiled block starting at the address
+     */
+    public Block get(int start) {
+        Block block = blocks[start];
+        if (block == null || block.getGeneration() != m.getDecodeCache().getGeneration()) {
+            block = this.compile(start);
+            blocks[start] = block;
+        }
+        return block;
+    }
+
+    private Block compile(int start) {
+        Instruction[] handlers = new Instruction[MAX_BLOCK];
+        short[] opcodes = new short[MAX_BLOCK];
+        int size = 0;
+        int address = start;
+        while (size < MAX_BLOCK && address < 0xFFF) {
+            short opcode = fetcher.seek((short) address);
+            handlers[size] = Decoder.lookup(opcode);
+            opcodes[size] = opcode;
+            size++;
+            address += 2;
+            if (endsBlock(opcode)) {
+                break;
+            }
+        }
+        Instruction[] blockHandlers = new Instruction[size];
+        short[] blockOpcodes = new short[size];
+        System.arraycopy(handlers, 0, blockHandlers, 0, size);
+        System.arraycopy(opcodes, 0, blockOpcodes, 0, size);
+        DecodeCache cache = m.getDecodeCache();
+        cache.markBlock(start, address - 1);
+        return new Block(start, blockHandlers, blockOpcodes, cache.getGeneration());
+    }
+
+    /**
+     * @param opcode opcode to check
+     * @return true if instruction can change pc, draws or writes to ram
+     */
+    static boolean endsBlock(short opcode) {
+        switch (opcode & 0xFFFF) {
+            case 0x00EE: // return
+            case 0x00FD: // exit, loops in place
+            case 0xF000: // double wide, skips over the address
+                return true;
+        }
+        switch (opcode & 0xF0FF) {
+            case 0xE09E: // key skips
+            case 0xE0A1:
+            case 0xF00A: // waits for key, loops in place
+            case 0xF033: // writes to ram
+            case 0xF055:
+                return true;
+        }
+        switch (opcode & 0xF000) {
+            case 0x1000: // jumps and calls
+            case 0x2000:
+            case 0xB000:
+            case 0x3000: // skips
+            case 0x4000:
+            case 0x9000:
+            case 0xD000: // draw
+                return true;
+        }
+        switch (opcode & 0xF00F) {
+            case 0x5000: // skip
+            case 0x5002: // writes to ram
+                return true;
+        }
+        return false;
+    }
+}
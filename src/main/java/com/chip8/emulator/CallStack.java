@@ -0,0 +1,97 @@
+package com.chip8.emulator;
+
+/**
+ * fixed size stack of return addresses used by 2NNN and 00EE, kept in a plain
+ * short array so calls and returns don't box anything
+ */
+public class CallStack {
+
+    public static final int DEFAULT_DEPTH = 64; // enough for s-chip and xo-chip roms
+
+    private final short[] entries;
+    private int size; // stack pointer, amount of addresses on the stack
+
+    /**
+     * @param depth max amount of addresses, 16 on original chip-8
+     */
+    public CallStack(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("stack depth has to be at least 1, was " + depth);
+        }
+        this.entries = new short[depth];
+    }
+
+    /**
+     * @param address return address to push
+     * @throws StackFault if the stack is full
+     */
+    public void push(short address) {
+        if (size == entries.length) {
+            throw new StackFault(true, entries.length);
+        }
+        this.entries[size++] = address;
+    }
+
+    /**
+     * @return address that was on top of the stack
+     * @throws StackFault if the stack is empty
+     */
+    public short pop() {
+        if (size == 0) {
+            throw new StackFault(false, entries.length);
+        }
+        return entries[--size];
+    }
+
+    /**
+     * @return address on top of the stack
+     * @throws StackFault if the stack is empty
+     */
+    public short peek() {
+        if (size == 0) {
+            throw new StackFault(false, entries.length);
+        }
+        return entries[size - 1];
+    }
+
+    /**
+     * reads the stack in place, used by the debugger
+     *
+     * @param index 0 is the top of the stack
+     * @return address at the index
+     */
+    public short get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", stack size " + size);
+        }
+        return entries[size - 1 - index];
+    }
+
+    /**
+     * @return amount of addresses on the stack
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no addresses on the stack
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return max amount of addresses
+     */
+    public int getDepth() {
+        return entries.length;
+    }
+
+    /**
+     * empties the stack
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.chip8.emulator;
+
+import java.util.Arrays;
+
+/**
+ * predecoded instructions by ram address, so instructions that have already
+ * been seen don't have to be read from ram and looked up again.
+ * entries are dropped whenever the ram they were decoded from is written to
+ */
+public class DecodeCache {
+
+    private final Instruction[] handlers;
+    private final short[] opcodes; // opcode itself holds the x, y, n, nn and nnn operands
+    private final boolean[] blockCode; // addresses that are part of a compiled block
+    private int generation; // changes when compiled blocks are no longer valid
+
+    /**
+     * @param size amount of ram addresses to cache
+     */
+    public DecodeCache(int size) {
+        this.handlers = new Instruction[size];
+        this.opcodes = new short[size];
+        this.blockCode = new boolean[size];
+    }
+
+    /**
+     * @param address ram address of the instruction
+     * @return cached handler or null if address has not been decoded yet
+     */
+    public Instruction getHandler(int address) {
+        return handlers[address];
+    }
+
+    /**
+     * @param address ram address of the instruction
+     * @return opcode that was cached for the address
+     */
+    public short getOpcode(int address) {
+        return opcodes[address];
+    }
+
+    /**
+     * @param address ram address of the instruction
+     * @param opcode  opcode read from the address
+     * @param handler handler that opcode decodes to
+     */
+    public void put(int address, short opcode, Instruction handler) {
+        this.opcodes[address] = opcode;
+        this.handlers[address] = handler;
+    }
+
+    /**
+     * drops instructions that used the written byte, instruction is two bytes
+     * so it can start either at the written address or the one before it
+     *
+     * @param address ram address that was written to
+     */
+    public void invalidate(int address) {
+        this.handlers[address] = null;
+        if (address > 0) {
+            this.handlers[address - 1] = null;
+        }
+        if (blockCode[address]) {
+            this.dropBlocks();
+        }
+    }
+
+    /**
+     * drops every cached instruction
+     */
+    public void clear() {
+        Arrays.fill(handlers, null);
+        this.dropBlocks();
+    }
+
+    /**
+     * marks ram as code of a compiled block, writing to it drops the compiled blocks
+     *
+     * @param start first byte of the block
+     * @param end   last byte of the block
+     */
+    public void markBlock(int start, int end) {
+        Arrays.fill(blockCode, start, end + 1, true);
+    }
+
+    /**
+     * @return generation of compiled blocks, blocks compiled in older generation are stale
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    private void dropBlocks() {
+        Arrays.fill(blockCode, false);
+        this.generation++;
+    }
+}
@@ -1,29 +1,44 @@
 package com.chip8.emulator;
 
-import lombok.Data;
-
 /**
- * after decoding the instruction, generates a text
- * to explain what the instruction did, used by ui
+ * keeps what the last instruction did as plain numbers and generates a text
+ * to explain it only when ui asks for it, so running the emulator builds no strings
  */
-@Data
 public class DecodeDetails {
 
+    /**
+     * what the last instruction did, picks the text to generate
+     */
+    public enum Detail {
+        CLEAR_DISPLAY, RETURN_FROM, RETURN_FROM_EX, SCROLL_RIGHT, SCROLL_LEFT, EXIT, LORES, HIRES,
+        AUDIO_BUFFER, SCROLL_DOWN, SCROLL_UP, JUMP_ADDRESS, CALL_SUB, CALL_SUB_EX, SKIP_IF_EQUAL, SKIP_IF_NOT_EQUAL,
+        SKIP_IF_EQUAL_REG, DUMP_VX_TO_VY, FILL_VX_TO_VY, SET_VAR_REG, ADD_VAR_REG, SET_VX_TO_VY, OR, AND, XOR,
+        ADD_VX_VY, SUBTRACT_5, SUBTRACT_7, SHIFT_RIGHT, SHIFT_LEFT, SKIP_IF_NOT_EQ_REG, SET_INDEX,
+        JUMP_WITH_OFF, RANDOM, DRAW_DISPLAY, SKIP_IF_KEY_EQ, SKIP_IF_KEY_NOT_EQ, DRAWING_PLANE,
+        SET_VX_TO_DELAY, GET_KEY, SET_DELAY_TO_VX, SET_SOUND_TO_VX, ADD_TO_INDEX, FONT, LARGE_FONT, BCD,
+        PITCH, REGISTER_DUMP, REGISTER_FILL, RPL_DUMP, RPL_FILL
+    }
+
+    // state of the instruction being executed, kept until it reports what it did
+    private short nextOpcode;
+    private short nextPc;
+    private short nextI;
+    private boolean nextResolutionMode;
+    private boolean nextState;
+
+    // state of the last instruction that reported what it did, text is made from these
+    private Detail detail;
     private short opcode;
-    private String x;
-    private String y;
-    private String nnn;
-    private String nn;
-    private String n;
-    private String iBefore;
-    private String i;
-    private String pc;
-    private boolean state;
+    private short pc;
+    private short iBefore;
     private boolean resolutionMode;
+    private boolean state;
+    private int a; // extra values the instruction reported
+    private int b;
 
     /**
-     * updates emulator memory states to string and hex format,
-     * these are used by the methods here
+     * keeps emulator state before the instruction, text is generated from
+     * these only if the instruction reports what it did
      *
      * @param opcode  current opcode
      * @param pc      current program counter
@@ -31,19 +46,189 @@ public class DecodeDetails {
      * @param resMode true if hires or false if lores
      */
     public void update(short opcode, short pc, short i, boolean resMode) {
-        this.state = false;
-        this.x = Integer.toHexString((((opcode & 0x0F00) >> 8) & 0xF)).toUpperCase();
-        this.y = Integer.toHexString((((opcode & 0x00F0) >> 4) & 0xF)).toUpperCase();
-        this.nnn = Integer.toHexString(((opcode & 0x0FFF) & 0xFFF)).toUpperCase();
-        this.nn = Integer.toHexString(((opcode & 0x00FF) & 0xFF)).toUpperCase();
-        this.n = Integer.toHexString(((opcode & 0x000F) & 0xF)).toUpperCase();
-        this.iBefore = Integer.toHexString((i & 0xFFF)).toUpperCase();
-        this.pc = Integer.toHexString((pc & 0xFFFF)).toUpperCase();
-        this.i = Integer.toHexString((pc & 0xFFFF)).toUpperCase();
-        this.resolutionMode = resMode;
-    }
-
-    public String scrollRight() {
+        this.nextOpcode = opcode;
+        this.nextPc = pc;
+        this.nextI = i;
+        this.nextResolutionMode = resMode;
+        this.nextState = false;
+    }
+
+    /**
+     * @param state true if the instruction skipped, overflowed or set vf
+     */
+    public void setState(boolean state) {
+        this.nextState = state;
+    }
+
+    /**
+     * @param detail what the instruction did
+     */
+    public void detail(Detail detail) {
+        this.detail(detail, 0, 0);
+    }
+
+    /**
+     * @param detail what the instruction did
+     * @param a      first value the text needs, like a register before the operation
+     * @param b      second value the text needs
+     */
+    public void detail(Detail detail, int a, int b) {
+        this.detail = detail;
+        this.opcode = nextOpcode;
+        this.pc = nextPc;
+        this.iBefore = nextI;
+        this.resolutionMode = nextResolutionMode;
+        this.state = nextState;
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * @return explanation of what the last instruction did, null if nothing has been run yet
+     */
+    public String text() {
+        if (detail == null) {
+            return null;
+        }
+        switch (detail) {
+            case CLEAR_DISPLAY:
+                return this.clearDisplay();
+            case RETURN_FROM:
+                return this.detailReturnFrom(a, b);
+            case RETURN_FROM_EX:
+                return this.detailReturnFromEx();
+            case SCROLL_RIGHT:
+                return this.scrollRight();
+            case SCROLL_LEFT:
+                return this.scrollLeft();
+            case EXIT:
+                return this.exit();
+            case LORES:
+                return this.lores();
+            case HIRES:
+                return this.hires();
+            case AUDIO_BUFFER:
+                return this.detailAudioBuffer();
+            case SCROLL_DOWN:
+                return this.scrollDown();
+            case SCROLL_UP:
+                return this.scrollUp();
+            case JUMP_ADDRESS:
+                return this.detailJumpAddress(a);
+            case CALL_SUB:
+                return this.detailCallSub(a, b);
+            case CALL_SUB_EX:
+                return this.detailCallSubEx(a);
+            case SKIP_IF_EQUAL:
+                return this.detailSkipIfEqual();
+            case SKIP_IF_NOT_EQUAL:
+                return this.detailSkipIfNotEqual();
+            case SKIP_IF_EQUAL_REG:
+                return this.detailSkipIfEqualReg();
+            case DUMP_VX_TO_VY:
+                return this.dumpVxToVy();
+            case FILL_VX_TO_VY:
+                return this.fillVxToVy();
+            case SET_VAR_REG:
+                return this.detailSetVarReg();
+            case ADD_VAR_REG:
+                return this.detailAddVarReg(a);
+            case SET_VX_TO_VY:
+                return this.detailSetVxToVy();
+            case OR:
+                return this.detailBinary(a, b, "Does bitwise OR on V[", " | 0x");
+            case AND:
+                return this.detailBinary(a, b, "Does bitwise AND on V[", " & 0x");
+            case XOR:
+                return this.detailBinary(a, b, "Does bitwise XOR on V[", " ^ 0x");
+            case ADD_VX_VY:
+                return this.detailAddVxVy(a, b);
+            case SUBTRACT_5:
+                return this.detailSubtract5(b, a, hex(b & 0xFF), hex(a & 0xFF));
+            case SUBTRACT_7:
+                return this.detailSubtract7(a, b, hex(a & 0xFF), hex(b & 0xFF));
+            case SHIFT_RIGHT:
+                return this.detailShiftRight(a);
+            case SHIFT_LEFT:
+                return this.detailShiftLeft(a);
+            case SKIP_IF_NOT_EQ_REG:
+                return this.detailSkipIfNotEqReg();
+            case SET_INDEX:
+                return this.detailSetIndex();
+            case JUMP_WITH_OFF:
+                return this.detailJumpWithOff();
+            case RANDOM:
+                return this.detailRandom();
+            case DRAW_DISPLAY:
+                return this.detailDrawDisplay();
+            case SKIP_IF_KEY_EQ:
+                return this.detailSkipIfKeyEq();
+            case SKIP_IF_KEY_NOT_EQ:
+                return this.detailSkipIfKeyNotEq();
+            case DRAWING_PLANE:
+                return this.drawingPlane();
+            case SET_VX_TO_DELAY:
+                return this.detailSetVxToDetail();
+            case GET_KEY:
+                return this.detailGetKey();
+            case SET_DELAY_TO_VX:
+                return this.detailSetDelayToVx();
+            case SET_SOUND_TO_VX:
+                return this.detailSetSoundToVx();
+            case ADD_TO_INDEX:
+                return this.detailAddToIndex();
+            case FONT:
+                return this.detailFont();
+            case LARGE_FONT:
+                return this.detailLargeFont();
+            case BCD:
+                return this.detailBcd(a);
+            case PITCH:
+                return this.pitch();
+            case REGISTER_DUMP:
+                return this.detailRegisterDump();
+            case REGISTER_FILL:
+                return this.detailRegisterFill();
+            case RPL_DUMP:
+                return this.detailRplDump();
+            default:
+                return this.detailRplFill();
+        }
+    }
+
+    private static String hex(int value) {
+        return Integer.toHexString(value).toUpperCase();
+    }
+
+    private String x() {
+        return hex((opcode & 0x0F00) >> 8);
+    }
+
+    private String y() {
+        return hex((opcode & 0x00F0) >> 4);
+    }
+
+    private String nnn() {
+        return hex(opcode & 0x0FFF);
+    }
+
+    private String nn() {
+        return hex(opcode & 0x00FF);
+    }
+
+    private String n() {
+        return hex(opcode & 0x000F);
+    }
+
+    private String pc() {
+        return hex(pc & 0xFFFF);
+    }
+
+    private String iBefore() {
+        return hex(iBefore & 0xFFF);
+    }
+
+    private String scrollRight() {
         if (resolutionMode) {
             return "Scrolls display right by 4 pixels.\nHigh resolution mode." +
                     "\nSuper-Chip extended instruction";
@@ -53,7 +238,7 @@ public class DecodeDetails {
         }
     }
 
-    public String scrollLeft() {
+    private String scrollLeft() {
         if (resolutionMode) {
             return "Scrolls display left by 4 pixels.\nHigh resolution mode." +
                     "\nSuper-Chip extended instruction";
@@ -63,24 +248,24 @@ public class DecodeDetails {
         }
     }
 
-    public String exit() {
+    private String exit() {
         return "Emulator has been exited.\nReset rom to continue\nor load a new one." +
                 "\nSuper-Chip extended instruction";
     }
 
-    public String lores() {
+    private String lores() {
         return "Screen resolution set to 64x32\nLow resolution mode." +
                 "\nSuper-Chip extended instruction";
     }
 
-    public String hires() {
+    private String hires() {
         return "Screen resolution set to 128x64\nHigh resolution mode." +
                 "\nSuper-Chip extended instruction";
     }
 
-    public String scrollDown() {
+    private String scrollDown() {
         if (resolutionMode) {
-            return "Scrolls display down by " + this.n + " pixels.\nHigh resolution mode." +
+            return "Scrolls display down by " + n() + " pixels.\nHigh resolution mode." +
                     "\nSuper-Chip extended instruction";
         } else {
             return "Scrolls display down by " + (opcode & 0x000F) / 2 + " pixels.\nLow resolution mode" +
@@ -88,9 +273,9 @@ public class DecodeDetails {
         }
     }
 
-    public String scrollUp() {
+    private String scrollUp() {
         if (resolutionMode) {
-            return "Scrolls display up by " + this.n + " pixels.\nHigh resolution mode." +
+            return "Scrolls display up by " + n() + " pixels.\nHigh resolution mode." +
                     "\nXO-Chip extended instruction";
         } else {
             return "Scrolls display up by " + (opcode & 0x000F) / 2 + " pixels.\nLow resolution mode" +
@@ -98,249 +283,254 @@ public class DecodeDetails {
         }
     }
 
-    public String clearDisplay() {
+    private String clearDisplay() {
         return "Clears the display";
     }
 
-    public String detailReturnFromEx() {
+    private String detailReturnFromEx() {
         return "Error:\n00EE instruction, but stack is empty!";
     }
 
-    public String detailReturnFrom(int stackSizeBefore, int stackSize) {
+    private String detailReturnFrom(int stackSizeBefore, int stackSize) {
         return "Returns from a subroutine. Does this by" +
                 "\npopping the stack. Stack size before pop: " +
                 stackSizeBefore + "\nSize of the stack after the pop: " +
-                stackSize + "\nPopped value was: 0x" + this.pc +
+                stackSize + "\nPopped value was: 0x" + pc() +
                 "\nThis value was assigned to program counter.";
     }
 
-    public String detailJumpAddress(short pcBefore) {
-        return "Jumps to address: 0x" + this.nnn +
+    private String detailJumpAddress(int pcBefore) {
+        return "Jumps to address: 0x" + nnn() +
                 "\nThis value was assigned to program counter." +
                 "\nProgram counter was before execution: 0x" +
-                Integer.toHexString((pcBefore & 0xFFFF)).toUpperCase();
+                hex(pcBefore & 0xFFFF);
+    }
+
+    private String detailCallSubEx(int stackSize) {
+        return "Error:\n2NNN instruction, but stack is full!" +
+                "\nAll " + stackSize + " entries are in use.";
     }
 
-    public String detailCallSub(int stackSizeBefore, int stackSize) {
+    private String detailCallSub(int stackSizeBefore, int stackSize) {
         return "Calls a subroutine. Does this by pushing" +
                 "\ncurrent program counter to stack." +
                 "\nStack size before push: " + stackSizeBefore +
                 "\nStack size after the push: " +
-                stackSize + "\nPushed program counter was: 0x" + this.pc +
-                "\nAfter push, jumps to address: 0x" + this.nnn;
+                stackSize + "\nPushed program counter was: 0x" + pc() +
+                "\nAfter push, jumps to address: 0x" + nnn();
     }
 
-    public String detailSkipIfEqual() {
-        return "Skips next instruction if V[" + this.x +
-                "]\nis equal to 0x" + this.nn +
+    private String detailSkipIfEqual() {
+        return "Skips next instruction if V[" + x() +
+                "]\nis equal to 0x" + nn() +
                 "\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String detailSkipIfNotEqual() {
-        return "Skips next instruction if V[" + this.x +
-                "]\nis NOT equal to 0x" + this.nn +
+    private String detailSkipIfNotEqual() {
+        return "Skips next instruction if V[" + x() +
+                "]\nis NOT equal to 0x" + nn() +
                 "\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String detailSkipIfEqualReg() {
-        return "Skips next instruction if V[" + this.x +
-                "]\nis equal to V[" + this.y +
+    private String detailSkipIfEqualReg() {
+        return "Skips next instruction if V[" + x() +
+                "]\nis equal to V[" + y() +
                 "]\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String dumpVxToVy() {
-        return "Dumps registers from V[" + this.x + "] to V[" + this.y +
+    private String dumpVxToVy() {
+        return "Dumps registers from V[" + x() + "] to V[" + y() +
                 "].\nThese are dumped to ram pointed by\nindex register" +
                 " at locations starting\nat i, i+1, i+2 etc..";
     }
 
-    public String fillVxToVy() {
-        return "Fills registers from V[" + this.x + "] to V[" + this.y +
+    private String fillVxToVy() {
+        return "Fills registers from V[" + x() + "] to V[" + y() +
                 "].\nThese are filled from ram pointed by\nindex register" +
                 " at locations starting\nat i, i+1, i+2 etc..";
     }
 
-    public String detailSetVarReg() {
-        return "Sets V[" + this.x + "] to 0x" + this.nn;
+    private String detailSetVarReg() {
+        return "Sets V[" + x() + "] to 0x" + nn();
     }
 
-    public String detailAddVarReg(byte x) {
-        return "Adds 0x" + this.nn + " to V[" + this.x +
+    private String detailAddVarReg(int x) {
+        return "Adds 0x" + nn() + " to V[" + x() +
                 "].\nRegister value before add: 0x" +
-                Integer.toHexString(((x) & 0xFF)).toUpperCase();
+                hex(x & 0xFF);
     }
 
-    public String detailSetVxToVy() {
-        return "Sets V[" + this.x + "] to V[" + this.y + "]";
+    private String detailSetVxToVy() {
+        return "Sets V[" + x() + "] to V[" + y() + "]";
     }
 
-    public String detailBinary(byte xValue, byte yValue, String s, String s2) {
-        return s + this.x + "] and V[" +
-                this.y + "]\nand stores this value to V[" + this.x +
-                "]\n0x" + Integer.toHexString((xValue & 0xFF)).toUpperCase() +
-                s2 + Integer.toHexString((yValue & 0xFF)).toUpperCase() +
-                "\nResult stored in V[" + this.x + "]";
+    private String detailBinary(int xValue, int yValue, String s, String s2) {
+        return s + x() + "] and V[" +
+                y() + "]\nand stores this value to V[" + x() +
+                "]\n0x" + hex(xValue & 0xFF) +
+                s2 + hex(yValue & 0xFF) +
+                "\nResult stored in V[" + x() + "]";
     }
 
-    public String detailAddVxVy(byte x, byte y) {
-        return "Adds V[" + this.y + "] to V[" + this.x + "]." +
+    private String detailAddVxVy(int x, int y) {
+        return "Adds V[" + y() + "] to V[" + x() + "]." +
                 "\nIf overflow then V[F] is set to 1.\nOverflow: " + state +
-                "\nRegister value before add: 0x" + Integer.toHexString((x & 0xFF)).toUpperCase() +
-                "\nValue to be added: 0x" + Integer.toHexString((y & 0xFF)).toUpperCase();
+                "\nRegister value before add: 0x" + hex(x & 0xFF) +
+                "\nValue to be added: 0x" + hex(y & 0xFF);
     }
 
-    public String detailSubtract5(byte x, byte y, String xValue, String yValue) {
-        return "Subtract V[" + this.x + "] = V[" + this.x + "] - V[" + this.y + "]" + "\n0x" +
-                yValue + " - 0x" + xValue + " = 0x" + Integer.toHexString(((y - x) & 0xFF)).toUpperCase() +
-                "\nIf V[" + this.x + "] (0x" + yValue + ") > V[" + this.y + "] (0x" + xValue + ")" +
+    private String detailSubtract5(int x, int y, String xValue, String yValue) {
+        return "Subtract V[" + x() + "] = V[" + x() + "] - V[" + y() + "]" + "\n0x" +
+                yValue + " - 0x" + xValue + " = 0x" + hex((y - x) & 0xFF) +
+                "\nIf V[" + x() + "] (0x" + yValue + ") > V[" + y() + "] (0x" + xValue + ")" +
                 "\nThen set VF to 1, VF set to 1: " + state;
     }
 
-    public String detailSubtract7(byte x, byte y, String xValue, String yValue) {
-        return "Subtract V[" + this.y + "] = V[" + this.y + "] - V[" + this.x + "]" + "\n0x" +
-                yValue + " - 0x" + xValue + " = 0x" + Integer.toHexString(((y - x) & 0xFF)).toUpperCase() +
-                "\nIf V[" + this.y + "] (0x" + yValue + ") > V[" + this.x + "] (0x" + xValue + ")" +
+    private String detailSubtract7(int x, int y, String xValue, String yValue) {
+        return "Subtract V[" + y() + "] = V[" + y() + "] - V[" + x() + "]" + "\n0x" +
+                yValue + " - 0x" + xValue + " = 0x" + hex((y - x) & 0xFF) +
+                "\nIf V[" + y() + "] (0x" + yValue + ") > V[" + x() + "] (0x" + xValue + ")" +
                 "\nThen set VF to 1, VF set to 1: " + state;
     }
 
-    public String detailShiftRight(byte x) {
-        return "Shifts right the value in V[" + this.x + "] by 1 bit." +
+    private String detailShiftRight(int x) {
+        return "Shifts right the value in V[" + x() + "] by 1 bit." +
                 "\nIf the shifted value was 1, sets VF to 1" + "\nVF 1: " + state + "." +
-                "\nAfter this divides value in V[" + this.x + "] by 2." +
-                "\nValue in V[" + this.x + "] before divide: 0x" + Integer.toHexString((x & 0xFF)).toUpperCase();
+                "\nAfter this divides value in V[" + x() + "] by 2." +
+                "\nValue in V[" + x() + "] before divide: 0x" + hex(x & 0xFF);
     }
 
-    public String detailShiftLeft(byte x) {
-        return "Shifts left the value in V[" + this.x + "] by 1 bit." +
+    private String detailShiftLeft(int x) {
+        return "Shifts left the value in V[" + x() + "] by 1 bit." +
                 "\nIf the shifted value was 1, sets VF to 1" + "\nVF 1: " + state + "." +
-                "\nAfter this multiplies value in V[" + this.x + "] by 2." +
-                "\nValue in V[" + this.x + "] before multiply: 0x" + Integer.toHexString((x & 0xFF)).toUpperCase();
+                "\nAfter this multiplies value in V[" + x() + "] by 2." +
+                "\nValue in V[" + x() + "] before multiply: 0x" + hex(x & 0xFF);
     }
 
-    public String detailSkipIfNotEqReg() {
-        return "Skips next instruction if V[" + this.x +
-                "]\nis NOT equal to V[" + this.y +
+    private String detailSkipIfNotEqReg() {
+        return "Skips next instruction if V[" + x() +
+                "]\nis NOT equal to V[" + y() +
                 "]\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String detailSetIndex() {
-        return "Sets index register to 0x" + this.nnn +
-                "\nIndex register was before operation: 0x" + this.iBefore;
+    private String detailSetIndex() {
+        return "Sets index register to 0x" + nnn() +
+                "\nIndex register was before operation: 0x" + iBefore();
     }
 
-    public String detailJumpWithOff() {
-        return "Jumps to 0x" + this.nnn + " + V[" + this.x + "]." +
-                "\nIndex register was before operation: 0x" + this.iBefore;
+    private String detailJumpWithOff() {
+        return "Jumps to 0x" + nnn() + " + V[" + x() + "]." +
+                "\nIndex register was before operation: 0x" + iBefore();
     }
 
-    public String detailRandom() {
-        return "Sets V[" + this.x + "] to random byte that is" + "\nbinary AND with 0x" + this.nn;
+    private String detailRandom() {
+        return "Sets V[" + x() + "] to random byte that is" + "\nbinary AND with 0x" + nn();
     }
 
-    public String detailDrawDisplay() {
-        return "Draws sprite starting at following\ncoordinates: x: V[" + this.x + "] y: V[" + this.y + "]" +
+    private String detailDrawDisplay() {
+        return "Draws sprite starting at following\ncoordinates: x: V[" + x() + "] y: V[" + y() + "]" +
                 "\nSprite size is 8 pixels in width" +
                 "\nand up to 16 pixels in height" +
-                "\nSprite height: 0x" + this.n +
+                "\nSprite height: 0x" + n() +
                 "\nSprite viewer shows the sprite";
     }
 
-    public String detailSkipIfKeyEq() {
-        return "Skips next instruction if key in V[" + this.x +
+    private String detailSkipIfKeyEq() {
+        return "Skips next instruction if key in V[" + x() +
                 "]\nis pressed.\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String detailSkipIfKeyNotEq() {
-        return "Skips next instruction if key in V[" + this.x +
+    private String detailSkipIfKeyNotEq() {
+        return "Skips next instruction if key in V[" + x() +
                 "]\nis NOT pressed.\nSkipping is done by incrementing pc by 0x2" +
                 "\nSkip happened: " + state;
     }
 
-    public String detailSetVxToDetail() {
-        return "Sets value in delay timer to V[" + this.x + "]";
+    private String detailSetVxToDetail() {
+        return "Sets value in delay timer to V[" + x() + "]";
     }
 
-    public String detailGetKey() {
+    private String detailGetKey() {
         return "Loops in this instruction\nuntil any key is pressed." +
                 "\nAfter key press sets pressed key" +
-                "\nto register V[" + this.x + "]";
+                "\nto register V[" + x() + "]";
     }
 
-    public String detailSetDelayToVx() {
-        return "Sets value in V[" + this.x + "] to delay timer.";
+    private String detailSetDelayToVx() {
+        return "Sets value in V[" + x() + "] to delay timer.";
     }
 
-    public String detailSetSoundToVx() {
-        return "Sets value in sound timer to V[" + this.x + "]";
+    private String detailSetSoundToVx() {
+        return "Sets value in sound timer to V[" + x() + "]";
     }
 
 
-    public String detailAddToIndex() {
-        return "Adds value in V[" + this.x + "] to index register." +
-                "\nIndex register value before operation: 0x" + iBefore +
+    private String detailAddToIndex() {
+        return "Adds value in V[" + x() + "] to index register." +
+                "\nIndex register value before operation: 0x" + iBefore() +
                 "\nIf overflow then VF set to 1\nVF set to 1: " + state;
     }
 
-    public String detailFont() {
+    private String detailFont() {
         return "Sets index register to font data location" +
-                "\npointed by character in V[" + this.x + "]." +
+                "\npointed by character in V[" + x() + "]." +
                 "Font data\nlocation starts at 0x0, which contains 0." +
                 "\nEach font data is 5 bytes, so 1 would be\nat 0x05" +
                 "and 2 at 0x10 etc.";
     }
 
-    public String detailLargeFont() {
+    private String detailLargeFont() {
         return "Sets index to large font data location" +
-                "\npointed by character in V[" + this.x + "]." +
+                "\npointed by character in V[" + x() + "]." +
                 "Font data\nlocation starts at 0x60, which contains 0." +
                 "\nEach font data is 10 bytes, so 1 would be\nat 0x70" +
                 "and 2 at 0x80 etc.";
     }
 
-    public String detailBcd(int decimal) {
-        return "Converts value in V[" + this.x + "] to BCD." +
+    private String detailBcd(int decimal) {
+        return "Converts value in V[" + x() + "] to BCD." +
                 "\nValue in decimal form: " + decimal + "\n this is now" +
                 "inserted into ram pointed\nby index register in BCD format.";
     }
 
-    public String detailRegisterDump() {
-        return "Dumps registers from V[0] to V[" + this.x +
+    private String detailRegisterDump() {
+        return "Dumps registers from V[0] to V[" + x() +
                 "].\nThese are dumped to ram pointed by\nindex register" +
                 " at locations starting\nat i, i+1, i+2 etc..";
     }
 
-    public String detailRegisterFill() {
-        return "Fills registers from V[0] to V[" + this.x +
+    private String detailRegisterFill() {
+        return "Fills registers from V[0] to V[" + x() +
                 "].\nThese are filled from ram pointed by\nindex register" +
                 " at locations starting\nat i, i+1, i+2 etc..";
     }
 
-    public String detailRplDump() {
-        return "Dumps registers from V[0] to V[" + this.x +
-                "].\nThese are dumped to\nrpl user flags\nRPL[0] to RPL[" + this.x +
+    private String detailRplDump() {
+        return "Dumps registers from V[0] to V[" + x() +
+                "].\nThese are dumped to\nrpl user flags\nRPL[0] to RPL[" + x() +
                 "]\nSuper-chip extended instruction";
     }
 
-    public String detailRplFill() {
-        return "Fills registers from V[0] to V[" + this.x +
-                "].\nThese are filled from\nrpl user flags\nRPL[0] to RPL[" + this.x +
+    private String detailRplFill() {
+        return "Fills registers from V[0] to V[" + x() +
+                "].\nThese are filled from\nrpl user flags\nRPL[0] to RPL[" + x() +
                 "]\nSuper-chip extended instruction";
     }
 
-    public String detailAudioBuffer() {
+    private String detailAudioBuffer() {
         return "Fills audio buffer with values pointed\nby the index register.\nXO-Chip special instruction.";
     }
 
-    public String pitch() {
-        return "Sets value in V[" + this.x + "] to\npitch register.\nXO-Chip special instruction.";
+    private String pitch() {
+        return "Sets value in V[" + x() + "] to\npitch register.\nXO-Chip special instruction.";
     }
 
-    public String drawingPlane() {
-        return "Set drawing plane to " + this.x + "\nXO-Chip special instruction.";
+    private String drawingPlane() {
+        return "Set drawing plane to " + x() + "\nXO-Chip special instruction.";
     }
 }
@@ -1,10 +1,9 @@
 package com.chip8.emulator;
 
 import com.chip8.configs.Configs;
+import com.chip8.emulator.DecodeDetails.Detail;
 import lombok.Data;
 
-import java.util.Random;
-
 import static java.lang.Short.toUnsignedInt;
 
 /**
@@ -18,10 +17,12 @@ public class Decoder {
     private PixelManager pixels;
     private short opcode;
     private Keys keys;
-    private String detailed;
     private DecodeDetails d;
     private Configs c;
+    private Rng random; // owned by this emulator so runs can be seeded
+    private StackFault fault; // last stack overflow or underflow, null if none happened
 
+    private static final Instruction[] TABLE = buildTable();
 
     public Decoder(Memory m, Fetcher fetcher, PixelManager pixels, Keys keys, Configs c) {
         this.m = m;
@@ -30,6 +31,7 @@ public class Decoder {
         this.keys = keys;
         this.d = new DecodeDetails();
         this.c = c;
+        this.random = new Rng(System.nanoTime());
     }
 
     /**
@@ -38,171 +40,176 @@ public class Decoder {
      * @param opcode opcode given by the fetcher
      */
     public void decode(short opcode) {
+        this.execute(TABLE[opcode & 0xFFFF], opcode);
+    }
+
+    /**
+     * executes already decoded instruction
+     *
+     * @param handler handler that the opcode decodes to
+     * @param opcode  opcode given by the fetcher
+     */
+    public void execute(Instruction handler, short opcode) {
         d.update(opcode, m.getPc(), m.getI(), pixels.isResolutionMode());
         this.opcode = opcode;
-        switch (opcode) {
+        handler.execute(this);
+    }
+
+    /**
+     * text is generated here from what the last instruction reported,
+     * so it costs nothing unless someone reads it
+     *
+     * @return explanation of what the last instruction did
+     */
+    public String getDetailed() {
+        return d.text();
+    }
+
+    /**
+     * @param opcode opcode to decode
+     * @return handler for the opcode from the dispatch table
+     */
+    public static Instruction lookup(short opcode) {
+        return TABLE[opcode & 0xFFFF];
+    }
+
+    /**
+     * builds the dispatch table, every possible opcode is resolved once here
+     * so decoding is just a single array lookup. quirks only change how the
+     * handlers behave, not which handler an opcode maps to, so one table is
+     * shared by every decoder
+     *
+     * @return handler for each of the 65536 opcodes
+     */
+    private static Instruction[] buildTable() {
+        Instruction[] table = new Instruction[0x10000];
+        for (int opcode = 0; opcode < table.length; opcode++) {
+            table[opcode] = resolve(opcode);
+        }
+        return table;
+    }
+
+    private static Instruction resolve(int opcode) {
+        switch ((short) opcode) {
             case 0x00E0: // 00E0
             case 0x0230: // 0230 -- hires mode clear screen
-                this.clearDisplay();
-                return;
+                return Decoder::clearDisplay;
             case 0x00EE: // 00EE
-                this.returnFromSubroutine();
-                return;
+                return Decoder::returnFromSubroutine;
             case 0x00FB: // 00FB -- Super-Chip
-                this.scrollRight();
-                return;
+                return Decoder::scrollRight;
             case 0x00FC: // 00FC -- Super-Chip
-                this.scrollLeft();
-                return;
+                return Decoder::scrollLeft;
             case 0x00FD: // 00FD -- Super-Chip
-                this.exit();
-                return;
+                return Decoder::exit;
             case 0x00FE: // 00FE -- Super-Chip
-                this.lores();
-                return;
+                return Decoder::lores;
             case 0x00FF: // 00FF -- Super-Chip
-                this.hires();
-                return;
+                return Decoder::hires;
             case (short) 0xF000: // F000 -- XO-Chip
-                this.largeIndex();
-                return;
+                return Decoder::largeIndex;
             case (short) 0xF002: // F002 -- XO-Chip
-                this.audioBuffer();
-                return;
+                return Decoder::audioBuffer;
         }
         switch (opcode & 0xFFF0) {
             case 0x00C0: // 00CN -- Super-Chip
-                this.scrollDown();
-                return;
+                return Decoder::scrollDown;
             case 0x00D0: // 00DN -- XO-Chip
-                this.scrollUp();
-                return;
+                return Decoder::scrollUp;
         }
         switch (opcode & 0xF0FF) {
             case 0xE09E: // EX9E
-                this.skipIfKeyEqual();
-                return;
+                return Decoder::skipIfKeyEqual;
             case 0xE0A1: // EXA1
-                this.skipIfKeyNotEqual();
-                return;
+                return Decoder::skipIfKeyNotEqual;
             case 0xF001: // FN01 -- XO-Chip
-                this.drawingPlane();
-                return;
+                return Decoder::drawingPlane;
             case 0xF007: // FX07
-                this.setVxToDelay();
-                return;
+                return Decoder::setVxToDelay;
             case 0xF00A: // FX0A
-                this.getKey();
-                return;
+                return Decoder::getKey;
             case 0xF015: // FX15
-                this.setDelayToVx();
-                return;
+                return Decoder::setDelayToVx;
             case 0xF018: // FX18
-                this.setSoundToVx();
-                return;
+                return Decoder::setSoundToVx;
             case 0xF01E: // FX1E
-                this.addToIndex();
-                return;
+                return Decoder::addToIndex;
             case 0xF029: //FX29
-                this.font();
-                return;
+                return Decoder::font;
             case 0xF030: // FX30
-                this.largeFont();
-                return;
+                return Decoder::largeFont;
             case 0xF033: // FX33
-                this.bcd();
-                return;
+                return Decoder::bcd;
             case 0xF03A: // FX3A
-                this.pitch();
-                return;
+                return Decoder::pitch;
             case 0xF055: // FX55
-                this.registerDump();
-                return;
+                return Decoder::registerDump;
             case 0xF065: // FX65
-                this.registerFill();
-                return;
+                return Decoder::registerFill;
             case 0xF075: // FX75 -- Super-Chip
-                this.rplDump();
-                return;
+                return Decoder::rplDump;
             case 0xF085: // FX85 -- Super-Chip
-                this.rplFill();
-                return;
+                return Decoder::rplFill;
         }
         switch (opcode & 0xF000) {
             case 0x1000: // 1NNN
-                this.jumpAddress();
-                return;
+                return Decoder::jumpAddress;
             case 0x2000: // 2NNN
-                this.callSubroutine();
-                return;
+                return Decoder::callSubroutine;
             case 0x3000: // 3XNN
-                this.skipIfEqual();
-                return;
+                return Decoder::skipIfEqual;
             case 0x4000: // 4XNN
-                this.skipIfNotEqual();
-                return;
+                return Decoder::skipIfNotEqual;
             case 0x6000: // 6XNN
-                this.setVarReg();
-                return;
+                return Decoder::setVarReg;
             case 0x7000: // 7XNN
-                this.addVarReg();
-                return;
+                return Decoder::addVarReg;
             case 0x9000: // 9XY0
-                this.skipIfNotEqualRegisters();
-                return;
+                return Decoder::skipIfNotEqualRegisters;
             case 0xA000: // ANNN
-                this.setIndex();
-                return;
+                return Decoder::setIndex;
             case 0xB000: // BNNN
-                this.jumpWithOffset();
-                return;
+                return Decoder::jumpWithOffset;
             case 0xC000: // CXNN
-                this.random();
-                return;
+                return Decoder::random;
             case 0xD000: // DXYN
-                this.drawDisplay();
-                return;
+                return Decoder::drawDisplay;
         }
         switch (opcode & 0xF00F) {
             case 0x5000: // 5XY0
-                this.skipIfEqualRegisters();
-                return;
+                return Decoder::skipIfEqualRegisters;
             case 0x5002: // 5XY2 -- XO-Chip
-                this.dumpVxToVy();
-                return;
+                return Decoder::dumpVxToVy;
             case 0x5003: // 5XY3 -- XO-Chip
-                this.fillVxToVy();
-                return;
+                return Decoder::fillVxToVy;
             case 0x8000: // 8XY0
-                this.setVxToVy();
-                return;
+                return Decoder::setVxToVy;
             case 0x8001: // 8XY1
-                this.binaryOr();
-                return;
+                return Decoder::binaryOr;
             case 0x8002: // 8XY2
-                this.binaryAnd();
-                return;
+                return Decoder::binaryAnd;
             case 0x8003: // 8XY3
-                this.logicalXor();
-                return;
+                return Decoder::logicalXor;
             case 0x8004: // 8XY4
-                this.addVxVy();
-                return;
+                return Decoder::addVxVy;
             case 0x8005: // 8XY5
             case 0x8007: // 8XY7
-                this.subtract();
-                return;
+                return Decoder::subtract;
             case 0x8006: // 8XY6
-                this.shiftRight();
-                return;
+                return Decoder::shiftRight;
             case 0x800E: // 8XYE
-                this.shiftLeft();
+                return Decoder::shiftLeft;
         }
+        return Decoder::unknown;
+    }
+
+    private void unknown() {
+        // opcode that is not part of any instruction set, does nothing
     }
 
     private void clearDisplay() {
         pixels.clearDisplay();
-        this.detailed = d.clearDisplay();
+        d.detail(Detail.CLEAR_DISPLAY);
     }
 
     private void returnFromSubroutine() {
@@ -210,43 +217,44 @@ public class Decoder {
         int stackSizeBefore = m.getStack().size();
         try {
             m.setPc(m.getStack().pop());
-            this.detailed = d.detailReturnFrom(stackSizeBefore, m.getStack().size());
-        } catch (Exception ignored) {
-            this.detailed = d.detailReturnFromEx();
+            d.detail(Detail.RETURN_FROM, stackSizeBefore, m.getStack().size());
+        } catch (StackFault fault) {
+            this.fault = fault;
+            d.detail(Detail.RETURN_FROM_EX);
         }
     }
 
     private void scrollRight() {
         // scroll right screen
         pixels.scrollRight();
-        this.detailed = d.scrollRight();
+        d.detail(Detail.SCROLL_RIGHT);
     }
 
     private void scrollLeft() {
         // scroll left screen
         pixels.scrollLeft();
-        this.detailed = d.scrollLeft();
+        d.detail(Detail.SCROLL_LEFT);
     }
 
     private void exit() {
         // simulates exiting the simulator by going into
         // infinite loop by decrementing pc
         this.fetcher.decrementPC();
-        this.detailed = d.exit();
+        d.detail(Detail.EXIT);
     }
 
     private void lores() {
         // normal resolution mode
         pixels.setResolutionMode(false);
         pixels.clearDisplay();
-        this.detailed = d.lores();
+        d.detail(Detail.LORES);
     }
 
     private void hires() {
         // set resolution mode for 128x64
         pixels.setResolutionMode(true);
         pixels.clearDisplay();
-        this.detailed = d.hires();
+        d.detail(Detail.HIRES);
     }
 
     private void largeIndex() {
@@ -273,34 +281,41 @@ public class Decoder {
             audioBuffer[i] = m.getRam()[toUnsignedInt(m.getI()) + i];
         }
         m.setAudio(audioBuffer);
-        this.detailed = d.detailAudioBuffer();
+        d.detail(Detail.AUDIO_BUFFER);
     }
 
     private void scrollDown() {
         // scrolls pixels down by 00C(n) amount
         pixels.scrollDown(opcode & 0x000F);
-        this.detailed = d.scrollDown();
+        d.detail(Detail.SCROLL_DOWN);
     }
 
     private void scrollUp() {
         // scrolls pixels up by 00D(n) amount
         pixels.scrollUp(opcode & 0x000F);
-        this.detailed = d.scrollUp();
+        d.detail(Detail.SCROLL_UP);
     }
 
     private void jumpAddress() {
         // jump, sets the PC to NNN | 1NNN
         short pcBefore = m.getPc();
         m.setPc((short) (opcode & 0x0FFF));
-        this.detailed = d.detailJumpAddress(pcBefore);
+        d.detail(Detail.JUMP_ADDRESS, pcBefore, 0);
     }
 
     private void callSubroutine() {
         // puts current pc to stack then jumps to NNN
         int stackSize = m.getStack().size();
-        m.getStack().push(m.getPc());
+        try {
+            m.getStack().push(m.getPc());
+        } catch (StackFault fault) {
+            // call is skipped, rom continues after it
+            this.fault = fault;
+            d.detail(Detail.CALL_SUB_EX, stackSize, 0);
+            return;
+        }
         this.jumpAddress();
-        this.detailed = d.detailCallSub(stackSize, m.getStack().size());
+        d.detail(Detail.CALL_SUB, stackSize, m.getStack().size());
     }
 
     private void skipIfEqual() {
@@ -310,7 +325,7 @@ public class Decoder {
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfEqual();
+        d.detail(Detail.SKIP_IF_EQUAL);
     }
 
     private void skipIfNotEqual() {
@@ -320,7 +335,7 @@ public class Decoder {
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfNotEqual();
+        d.detail(Detail.SKIP_IF_NOT_EQUAL);
     }
 
     private void skipIfEqualRegisters() {
@@ -330,18 +345,16 @@ public class Decoder {
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfEqualReg();
+        d.detail(Detail.SKIP_IF_EQUAL_REG);
     }
 
     private void dumpVxToVy() {
         // dump registers from Vx to Vy to ram at I
         short tempI = m.getI();
-        byte[] ram = m.getRam();
         for (int i = (opcode & 0x0F00) >> 8; i <= ((opcode & 0x00F0) >> 4); i++, tempI++) {
-            ram[toUnsignedInt(tempI)] = m.getV()[i];
+            m.write(toUnsignedInt(tempI), m.getV()[i]);
         }
-        m.setRam(ram);
-        this.detailed = d.dumpVxToVy();
+        d.detail(Detail.DUMP_VX_TO_VY);
     }
 
     private void fillVxToVy() {
@@ -351,13 +364,13 @@ public class Decoder {
         for (int i = (opcode & 0x0F00) >> 8; i <= ((opcode & 0x00F0) >> 4); i++, tempI++) {
             m.varReg(i, ram[toUnsignedInt(tempI)]);
         }
-        this.detailed = d.fillVxToVy();
+        d.detail(Detail.FILL_VX_TO_VY);
     }
 
     private void setVarReg() {
         // Set, sets V(x) = (NN) | 6xNN
         m.varReg((opcode & 0x0F00) >> 8, opcode & 0x00FF);
-        this.detailed = d.detailSetVarReg();
+        d.detail(Detail.SET_VAR_REG);
     }
 
     private void addVarReg() {
@@ -365,13 +378,13 @@ public class Decoder {
         byte x = m.getV()[(opcode & 0x0F00) >> 8];
         byte nn = (byte) (opcode & 0x00FF);
         m.varReg((opcode & 0x0F00) >> 8, (x + nn) & 0xFF);
-        this.detailed = d.detailAddVarReg(x);
+        d.detail(Detail.ADD_VAR_REG, x, 0);
     }
 
     private void setVxToVy() {
         // sets v[x] to v[y]
         m.varReg((opcode & 0x0F00) >> 8, m.getV()[(opcode & 0x00F0) >> 4]);
-        this.detailed = d.detailSetVxToVy();
+        d.detail(Detail.SET_VX_TO_VY);
     }
 
     private void binaryOr() {
@@ -381,7 +394,7 @@ public class Decoder {
         byte xValue = m.getV()[x];
         byte yValue = m.getV()[y];
         m.varReg(x, m.getV()[x] | m.getV()[y]);
-        this.detailed = d.detailBinary(xValue, yValue, "Does bitwise OR on V[", " | 0x");
+        d.detail(Detail.OR, xValue, yValue);
     }
 
     private void binaryAnd() {
@@ -391,7 +404,7 @@ public class Decoder {
         byte xValue = m.getV()[x];
         byte yValue = m.getV()[y];
         m.varReg(x, m.getV()[x] & m.getV()[y]);
-        this.detailed = d.detailBinary(xValue, yValue, "Does bitwise AND on V[", " & 0x");
+        d.detail(Detail.AND, xValue, yValue);
     }
 
     private void logicalXor() {
@@ -401,7 +414,7 @@ public class Decoder {
         byte xValue = m.getV()[x];
         byte yValue = m.getV()[y];
         m.varReg(x, m.getV()[x] ^ m.getV()[y]);
-        this.detailed = d.detailBinary(xValue, yValue, "Does bitwise XOR on V[", " ^ 0x");
+        d.detail(Detail.XOR, xValue, yValue);
     }
 
     private void addVxVy() {
@@ -416,7 +429,7 @@ public class Decoder {
             m.varReg((opcode & 0x0F00) >> 8, x + y);
             m.varReg(0xF, 0);
         }
-        this.detailed = d.detailAddVxVy(x, y);
+        d.detail(Detail.ADD_VX_VY, x, y);
     }
 
     private void subtract() {
@@ -434,9 +447,7 @@ public class Decoder {
         boolean state = Byte.toUnsignedInt(x) >= Byte.toUnsignedInt(y);
         d.setState(state);
         this.vfOrder((opcode & 0x0F00) >> 8, x - y, state ? 1 : 0);
-        String xValue = Integer.toHexString((x & 0xFF)).toUpperCase();
-        String yValue = Integer.toHexString((y & 0xFF)).toUpperCase();
-        this.detailed = d.detailSubtract5(y, x, yValue, xValue);
+        d.detail(Detail.SUBTRACT_5, x, y);
     }
 
     private void subtract7(byte x, byte y) {
@@ -444,9 +455,7 @@ public class Decoder {
         boolean state = Byte.toUnsignedInt(y) >= Byte.toUnsignedInt(x);
         d.setState(state);
         this.vfOrder((opcode & 0x0F00) >> 8, y - x, state ? 1 : 0);
-        String xValue = Integer.toHexString((x & 0xFF)).toUpperCase();
-        String yValue = Integer.toHexString((y & 0xFF)).toUpperCase();
-        this.detailed = d.detailSubtract7(x, y, xValue, yValue);
+        d.detail(Detail.SUBTRACT_7, x, y);
     }
 
     private void shiftRight() {
@@ -456,7 +465,7 @@ public class Decoder {
         byte x = m.getV()[c.isQuirkShift() ? (opcode & 0x00F0) >> 4 : (opcode & 0x0F00) >> 8];
         d.setState((x & 0x1) == 1);
         this.vfOrder((opcode & 0x0F00) >> 8, Byte.toUnsignedInt(x) / 2, (x & 0x1) == 1 ? 1 : 0);
-        this.detailed = d.detailShiftRight(x);
+        d.detail(Detail.SHIFT_RIGHT, x, 0);
     }
 
 
@@ -467,7 +476,7 @@ public class Decoder {
         byte x = m.getV()[c.isQuirkShift() ? (opcode & 0x00F0) >> 4 : (opcode & 0x0F00) >> 8];
         d.setState((x & 0b10000000) >> 7 == 1);
         this.vfOrder((opcode & 0x0F00) >> 8, Byte.toUnsignedInt(x) * 2, (x & 0b10000000) >> 7 == 1 ? 1 : 0);
-        this.detailed = d.detailShiftLeft(x);
+        d.detail(Detail.SHIFT_LEFT, x, 0);
     }
 
     private void vfOrder(int varReg, int varValue, int vf) {
@@ -488,28 +497,27 @@ public class Decoder {
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfNotEqReg();
+        d.detail(Detail.SKIP_IF_NOT_EQ_REG);
     }
 
     private void setIndex() {
         // Sets index to NNN | ANNN
         m.setI((short) (opcode & 0x0FFF));
-        this.detailed = d.detailSetIndex();
+        d.detail(Detail.SET_INDEX);
     }
 
     private void jumpWithOffset() {
         // jumps to NNN + v[0] | BNNN
         // if quirk enabled jumps to XNN + v[x] | BXNN
         m.setPc((short) ((opcode & 0x0FFF) + Byte.toUnsignedInt(m.getV()[c.isQuirkJump() ? (opcode & 0x0F00) >> 8 : 0])));
-        this.detailed = d.detailJumpWithOff();
+        d.detail(Detail.JUMP_WITH_OFF);
     }
 
     private void random() {
         // generates random number and binary AND's it with NN
         // then puts the result in V[x] | CXNN
-        Random rand = new Random();
-        m.varReg((opcode & 0x0F00) >> 8, rand.nextInt(256) & (opcode & 0x00FF));
-        this.detailed = d.detailRandom();
+        m.varReg((opcode & 0x0F00) >> 8, random.nextByte() & (opcode & 0x00FF));
+        d.detail(Detail.RANDOM);
     }
 
 
@@ -527,7 +535,7 @@ public class Decoder {
         } else {
             draw(x, y);
         }
-        this.detailed = d.detailDrawDisplay();
+        d.detail(Detail.DRAW_DISPLAY);
         if (this.c.isPrintToConsole()) {
             pixels.printDisplay(c.getPrintSymbol());
         }
@@ -536,29 +544,19 @@ public class Decoder {
     private void draw(byte x, byte y) {
         // first nibble indicating height of the sprite
         pixels.setSpriteHeight(opcode & 0x000F);
-        for (int p = 0; p < (pixels.getCurrentPlane() == 3 ? 2 : 1); p++) {
+        int plane = pixels.getCurrentPlane();
+        // collisions are checked from the plane being drawn, or default plane when drawing both
+        int collisionPlane = plane == 2 ? 0 : 1;
+        for (int p = 0; p < (plane == 3 ? 2 : 1); p++) {
             for (int i = 0; i < pixels.getSpriteHeight(); i++) {
                 // gets sprite row data from ram
-                byte spriteData = m.getRam()[toUnsignedInt(m.getI()) + i + (p == 1 ? pixels.getSpriteHeight() : 0)];
-                for (int j = 0; j < 8; j++) {
-                    // using binary mask to check each bit in sprite if that bit should be drawn or not
-                    if ((spriteData & (0b10000000 >> j)) != 0) {
-                        // modulo to wrap sprites around the screen
-                        int xx = Math.abs((x + j) % 128);
-                        int yy = Math.abs((y + i) % 64);
-                        // if we erased pixel then set VF register to 1
-                        if (pixels.getPixel(xx, yy, pixels.getCurrentPlane() == 2 ? 0 : 1)) {
-                            m.varReg(0xF, 1);
-                        }
-                        // draws pixel by flipping it
-                        if (pixels.getCurrentPlane() == 3) {
-                            pixels.draw(xx, yy, (p == 1 ? 0 : 1));
-                        } else {
-                            pixels.draw(xx, yy, pixels.getCurrentPlane() == 2 ? 0 : 1);
-                        }
-                        pixels.drawSprite(j, i);
-                    }
+                int spriteData = m.getRam()[toUnsignedInt(m.getI()) + i + (p == 1 ? pixels.getSpriteHeight() : 0)] & 0xFF;
+                // whole row is xored in at once, if we erased pixel then set VF register to 1
+                if (pixels.drawRow(toUnsignedInt(x), toUnsignedInt(y) + i, spriteData, 8,
+                        plane == 3 ? (p == 1 ? 0 : 1) : collisionPlane, collisionPlane)) {
+                    m.varReg(0xF, 1);
                 }
+                pixels.drawSpriteRow(i, spriteData, 8);
             }
         }
     }
@@ -566,31 +564,19 @@ public class Decoder {
     private void draw16x16(byte x, byte y) {
         // special value to detect 16x16 sprite
         pixels.setSpriteHeight(-1);
-        for (int p = 0; p < (pixels.getCurrentPlane() == 3 ? 2 : 1); p++) {
+        int plane = pixels.getCurrentPlane();
+        int collisionPlane = plane == 2 ? 0 : 1;
+        for (int p = 0; p < (plane == 3 ? 2 : 1); p++) {
             for (int i = 0, spriteIndex = 0; i < 16; i++, spriteIndex += 2) {
                 // gets sprite row data from ram
-                int spriteData = (short) (((m.getRam()[toUnsignedInt((short)
+                int spriteData = ((m.getRam()[toUnsignedInt((short)
                         (m.getI() + spriteIndex + (p == 1 ? 32 : 0)))] << 8) & 0xFF00) |
-                        (m.getRam()[toUnsignedInt((short) (m.getI() + spriteIndex + 1 + (p == 1 ? 32 : 0)))] & 0x00FF));
-                for (int j = 0; j < 16; j++) {
-                    // using binary mask to check each bit in sprite if that bit should be drawn or not
-                    if ((spriteData & (0x8000 >> j)) != 0) {
-                        // modulo to wrap sprites around the screen
-                        int xx = Math.abs((x + j) % 128);
-                        int yy = Math.abs((y + i) % 64);
-                        // if we erased pixel then set VF register to 1
-                        if (pixels.getPixel(xx, yy, pixels.getCurrentPlane() == 2 ? 0 : 1)) {
-                            m.varReg(0xF, 1);
-                        }
-                        // draws pixel by flipping it
-                        if (pixels.getCurrentPlane() == 3) {
-                            pixels.draw(xx, yy, (p == 1 ? 0 : 1));
-                        } else {
-                            pixels.draw(xx, yy, pixels.getCurrentPlane() == 2 ? 0 : 1);
-                        }
-                        pixels.drawSprite(j, i);
-                    }
+                        (m.getRam()[toUnsignedInt((short) (m.getI() + spriteIndex + 1 + (p == 1 ? 32 : 0)))] & 0x00FF);
+                if (pixels.drawRow(toUnsignedInt(x), toUnsignedInt(y) + i, spriteData, 16,
+                        plane == 3 ? (p == 1 ? 0 : 1) : collisionPlane, collisionPlane)) {
+                    m.varReg(0xF, 1);
                 }
+                pixels.drawSpriteRow(i, spriteData, 16);
             }
         }
 
@@ -598,62 +584,62 @@ public class Decoder {
 
     private void skipIfKeyEqual() {
         // skips next instruction if pressed key equals key in v[x]
-        if (keys.getKeys()[m.getV()[(opcode & 0x0F00) >> 8]]) {
+        if (keys.isPressed(m.getV()[(opcode & 0x0F00) >> 8])) {
             fetcher.incrementPC();
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfKeyEq();
+        d.detail(Detail.SKIP_IF_KEY_EQ);
     }
 
     private void skipIfKeyNotEqual() {
         // skips next instruction if key pressed not equal to key in v[x]
-        if (!keys.getKeys()[m.getV()[(opcode & 0x0F00) >> 8]]) {
+        if (!keys.isPressed(m.getV()[(opcode & 0x0F00) >> 8])) {
             fetcher.incrementPC();
             d.setState(true);
             this.skipIfNextLargeIndex();
         }
-        this.detailed = d.detailSkipIfKeyNotEq();
+        d.detail(Detail.SKIP_IF_KEY_NOT_EQ);
     }
 
     private void drawingPlane() {
         // sets drawing plane to n, xo-chip instruction
         pixels.setCurrentPlane((opcode & 0x0F00) >> 8 & 0b11);
         pixels.setXoMode(true);
-        this.detailed = d.drawingPlane();
+        d.detail(Detail.DRAWING_PLANE);
     }
 
     private void setVxToDelay() {
         // sets v[x] to delay timer
         m.varReg((opcode & 0x0F00) >> 8, m.getDelayTimer());
-        this.detailed = d.detailSetVxToDetail();
+        d.detail(Detail.SET_VX_TO_DELAY);
     }
 
     private void getKey() {
         // waits for key press by decrementing pc, staying in same instruction.
         // when key press -> set pressed key to v[x] and increment pc
-        for (byte b = 0x0; b <= 0xF; b++) {
-            if (keys.getKeys()[b]) {
-                m.varReg((opcode & 0x0F00) >> 8, b);
-                return;
-            }
+        int pressed = keys.getMask();
+        if (pressed != 0) {
+            // lowest pressed key, same as checking keys from 0 up
+            m.varReg((opcode & 0x0F00) >> 8, Integer.numberOfTrailingZeros(pressed));
+            return;
         }
         fetcher.decrementPC();
-        this.detailed = d.detailGetKey();
+        d.detail(Detail.GET_KEY);
     }
 
 
     private void setDelayToVx() {
         // sets delay to v[x]
         m.setDelayTimer(m.getV()[(opcode & 0x0F00) >> 8]);
-        this.detailed = d.detailSetDelayToVx();
+        d.detail(Detail.SET_DELAY_TO_VX);
     }
 
 
     private void setSoundToVx() {
         // sets sound to v[x]
         m.setSoundTimer(m.getV()[(opcode & 0x0F00) >> 8]);
-        this.detailed = d.detailSetSoundToVx();
+        d.detail(Detail.SET_SOUND_TO_VX);
     }
 
     private void addToIndex() {
@@ -663,7 +649,7 @@ public class Decoder {
             d.setState(true);
         }
         m.setI((short) (m.getI() + Byte.toUnsignedInt(m.getV()[(opcode & 0x0F00) >> 8])));
-        this.detailed = d.detailAddToIndex();
+        d.detail(Detail.ADD_TO_INDEX);
     }
 
     private void font() {
@@ -671,7 +657,7 @@ public class Decoder {
         // then I is set ram address that contains data for that character
         int x = ((opcode & 0x0F00) >> 8); // 0 - F
         m.setI((short) (5 * m.getV()[x]));
-        this.detailed = d.detailFont();
+        d.detail(Detail.FONT);
     }
 
     private void largeFont() {
@@ -679,7 +665,7 @@ public class Decoder {
         // then I is set ram address that contains data for that character
         int x = ((opcode & 0x0F00) >> 8); // 0 - F
         m.setI((short) (0x60 + (10 * m.getV()[x])));
-        this.detailed = d.detailLargeFont();
+        d.detail(Detail.LARGE_FONT);
     }
 
     private void bcd() {
@@ -687,35 +673,31 @@ public class Decoder {
         // the decimal in BCD format to ram pointed by I
         // first decimal going to I + 2, second to I + 1 and third to I
         int decimal = Byte.toUnsignedInt(m.getV()[((opcode & 0x0F00) >> 8)]);
-        byte[] ram = m.getRam();
-        ram[toUnsignedInt(m.getI()) + 2] = (byte) (decimal % 10);
+        m.write(toUnsignedInt(m.getI()) + 2, (byte) (decimal % 10));
         decimal = decimal / 10;
-        ram[toUnsignedInt(m.getI()) + 1] = (byte) (decimal % 10);
+        m.write(toUnsignedInt(m.getI()) + 1, (byte) (decimal % 10));
         decimal = decimal / 10;
-        ram[toUnsignedInt(m.getI())] = (byte) (decimal % 10);
-        m.setRam(ram);
-        this.detailed = d.detailBcd(decimal);
+        m.write(toUnsignedInt(m.getI()), (byte) (decimal % 10));
+        d.detail(Detail.BCD, decimal, 0);
     }
 
     private void pitch() {
         // sets pitch register to value in v[x]
         m.setPitch((short) Byte.toUnsignedInt(m.getV()[(opcode & 0x0F00) >> 8]));
-        this.detailed = d.pitch();
+        d.detail(Detail.PITCH);
     }
 
     private void registerDump() {
         // dump registers from V0 to Vx to ram at I
         // if quirk enabled then also increments I
         short tempI = m.getI();
-        byte[] ram = m.getRam();
         for (int i = 0; i <= ((opcode & 0x0F00) >> 8); i++, tempI++) {
-            ram[toUnsignedInt(tempI)] = m.getV()[i];
+            m.write(toUnsignedInt(tempI), m.getV()[i]);
             if (c.isQuirkIncrementIndex()) {
                 m.setI((short) (tempI + 1));
             }
         }
-        m.setRam(ram);
-        this.detailed = d.detailRegisterDump();
+        d.detail(Detail.REGISTER_DUMP);
     }
 
     private void registerFill() {
@@ -729,7 +711,7 @@ public class Decoder {
                 m.setI((short) (tempI + 1));
             }
         }
-        this.detailed = d.detailRegisterFill();
+        d.detail(Detail.REGISTER_FILL);
     }
 
     private void rplDump() {
@@ -737,7 +719,7 @@ public class Decoder {
         byte[] rpl = m.getRpl();
         System.arraycopy(m.getV(), 0, rpl, 0, ((opcode & 0x0F00) >> 8) + 1);
         m.setRpl(rpl);
-        this.detailed = d.detailRplDump();
+        d.detail(Detail.RPL_DUMP);
     }
 
     private void rplFill() {
@@ -745,6 +727,6 @@ public class Decoder {
         for (int i = 0; i <= ((opcode & 0x0F00) >> 8); i++) {
             m.varReg(i, m.getRpl()[i]);
         }
-        this.detailed = d.detailRplFill();
+        d.detail(Detail.RPL_FILL);
     }
 }
\ No newline at end of file
@@ -13,9 +13,14 @@ public class Executer {
     private Fetcher fetcher;
     private Decoder decoder;
     private Loader loader;
+    private BlockCompiler blockCompiler;
+    private AudioSynth sound; // optional, gets a tick every frame
+    private long frameCount; // frames run since the rom was loaded
+    private Profiler profiler; // optional, null when not profiling
+    private boolean blockExecution; // run whole basic blocks instead of one instruction at a time
 
     public Executer(String rom, PixelManager pixels, Keys keys, Configs c) {
-        this.memory = new Memory();
+        this.memory = new Memory(c.getStackDepth());
 
         this.loader = new Loader(rom, memory);
 
@@ -25,14 +30,110 @@ public class Executer {
 
         this.fetcher = new Fetcher(memory);
         this.decoder = new Decoder(memory, fetcher, pixels, keys, c);
+        this.blockCompiler = new BlockCompiler(memory, fetcher);
+        this.blockExecution = c.isBlockExecution();
     }
 
     /**
      * fetch-decode-execute cycle
      */
     public void execute() {
-        fetcher.fetch();
-        decoder.decode(fetcher.getOpcode());
+        if (profiler != null) {
+            int pc = memory.getPc();
+            Instruction handler = fetcher.fetchDecoded();
+            profiler.execute(decoder, handler, fetcher.getOpcode(), pc);
+            return;
+        }
+        Instruction handler = fetcher.fetchDecoded();
+        decoder.execute(handler, fetcher.getOpcode());
+    }
+
+    /**
+     * runs one 60 hz frame, executes the given amount of instructions,
+     * generates the frame's audio and then ticks delay and sound timers once
+     *
+     * @param cycles instructions per frame
+     */
+    public void frame(int cycles) {
+        this.run(cycles);
+        this.endFrame();
+    }
+
+    /**
+     * ends the current frame without running instructions, generates the frame's
+     * audio and ticks the timers. used when a frame was run in parts
+     */
+    public void endFrame() {
+        if (sound != null) {
+            sound.tick(memory);
+        }
+        fetcher.timerDecrement();
+        this.frameCount++;
+    }
+
+    /**
+     * executes exactly the given amount of instructions without ticking the timers,
+     * through compiled blocks when block execution is on
+     *
+     * @param cycles amount of instructions to execute
+     */
+    public void run(int cycles) {
+        if (!blockExecution) {
+            for (int i = 0; i < cycles; i++) {
+                this.execute();
+            }
+            return;
+        }
+        for (int done = 0; done < cycles; ) {
+            done += this.executeBlock(cycles - done);
+        }
+    }
+
+    /**
+     * 64x64 roms start with a jump to 0x260 and are meant to run in hires from 0x2C0,
+     * checked whenever a rom is started so ui and headless runs start the same way
+     *
+     * @param pixels display of the emulator
+     */
+    public void specialHires(PixelManager pixels) {
+        if (memory.getRam()[0x200] == 0x12 && memory.getRam()[0x201] == 0x60) {
+            pixels.setResolutionMode(true);
+            memory.setPc((short) 0x2c0);
+        }
+    }
+
+    /**
+     * @param seed seed for the random numbers of CXNN
+     */
+    public void seed(long seed) {
+        decoder.getRandom().seed(seed);
+    }
+
+    /**
+     * runs the whole basic block starting at pc, gives the same result as calling
+     * execute() for each instruction in it but skips fetching and decoding
+     *
+     * @return amount of instructions executed
+     */
+    public int executeBlock() {
+        return this.executeBlock(Integer.MAX_VALUE);
+    }
+
+    /**
+     * runs the basic block starting at pc, but stops after max instructions
+     * so a frame never runs more instructions than it should
+     *
+     * @param max max amount of instructions to run, at least 1
+     * @return amount of instructions executed
+     */
+    public int executeBlock(int max) {
+        short pc = memory.getPc();
+        // blocks don't go through the profiler, so profiled runs go one by one
+        if (pc < 0 || pc >= 0xFFF || profiler != null) {
+            this.execute();
+            return 1;
+        }
+        return blockCompiler.get(pc).run(memory, fetcher, decoder, max);
     }
 
     /**
@@ -11,20 +11,18 @@ public class Fetcher {
 
     private short opcode;
     private Memory m;
-    private long currentTime;
 
     /**
      * @param memory memory that emulator is using
      */
     public Fetcher(Memory memory) {
         this.m = memory;
-        this.currentTime = 0;
     }
 
     /**
      * fetches the opcode with PC. shifts first byte left 8 bits and does bitwise OR
      * to get correct result and also bitwise ANDs it with either 0xFF00 or 0x00FF to get leading zeros
-     * increments pc and decrements timer
+     * increments pc, timers are ticked once per frame instead
      */
     public void fetch() {
         if (m.getPc() >= 0xFFF) {
@@ -33,7 +31,31 @@ public class Fetcher {
         }
         this.opcode = (short) (((m.getRam()[m.getPc()] << 8) & 0xFF00) | (m.getRam()[m.getPc() + 1] & 0x00FF));
         this.incrementPC();
-        this.timerDecrement();
+    }
+
+    /**
+     * same as fetch, but uses the predecoded instruction if the current
+     * address has been decoded before. opcode is updated either way
+     *
+     * @return handler for the fetched opcode
+     */
+    public Instruction fetchDecoded() {
+        short pc = m.getPc();
+        if (pc >= 0xFFF) {
+            this.fetch();
+            return Decoder.lookup(opcode);
+        }
+        DecodeCache cache = m.getDecodeCache();
+        Instruction handler = cache.getHandler(pc);
+        if (handler == null) {
+            this.fetch();
+            handler = Decoder.lookup(opcode);
+            cache.put(pc, opcode, handler);
+            return handler;
+        }
+        this.opcode = cache.getOpcode(pc);
+        this.incrementPC();
+        return handler;
     }
 
     /**
@@ -64,15 +86,9 @@ public class Fetcher {
     }
 
     /**
-     * accurate timers that are 60 hz just like in the original
-     * decrements them every 17 milliseconds
+     * decrements delay and sound timers by one, called once per 60 hz frame
      */
     public void timerDecrement() {
-        if (currentTime + 17 < System.currentTimeMillis()) {
-            currentTime = System.currentTimeMillis();
-        } else {
-            return;
-        }
         if (Byte.toUnsignedInt(m.getDelayTimer()) > 0) {
             m.setDelayTimer((byte) (m.getDelayTimer() - 1));
         }
@@ -0,0 +1,35 @@
+package com.chip8.emulator;
+
+import lombok.Data;
+
+/**
+ * copy of the display at one point of time, handed from emulation thread to ui
+ */
+@Data
+public class Frame {
+
+    private final long[][] display; // same layout as in PixelManager
+    private final float[] fadeLevel; // only valid for the pixels in fading
+    private final byte[] fadePlane;
+    private final int[] fading; // pixels that were fading when the frame was published
+    private int fadingCount;
+    private boolean resolutionMode;
+    private boolean xoMode;
+
+    public Frame() {
+        this.display = new long[2][128];
+        this.fadeLevel = new float[128 * 64];
+        this.fadePlane = new byte[128 * 64];
+        this.fading = new int[128 * 64];
+    }
+
+    /**
+     * @param x     coordinate x
+     * @param y     coordinate y
+     * @param plane 0 is xo and 1 is default plane
+     * @return true if pixel is lit
+     */
+    public boolean getPixel(int x, int y, int plane) {
+        return (display[plane][y * 2 + (x >> 6)] & (1L << (63 - (x & 63)))) != 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.chip8.emulator;
+
+/**
+ * triple buffer for finished frames. emulation thread publishes as often as it likes
+ * and ui only takes the newest one, so frames are never queued up.
+ * publisher writes to its own back frame and only the swap is locked
+ */
+public class FrameBuffer {
+
+    private Frame back; // only touched by publisher
+    private Frame ready; // newest published frame
+    private Frame front; // only touched by consumer
+    private boolean fresh; // ready has not been taken yet
+
+    public FrameBuffer() {
+        this.back = new Frame();
+        this.ready = new Frame();
+        this.front = new Frame();
+    }
+
+    /**
+     * copies current display and makes it the newest frame
+     *
+     * @param pixels display to copy
+     */
+    public void publish(PixelManager pixels) {
+        pixels.copyTo(back);
+        synchronized (this) {
+            Frame published = back;
+            this.back = ready;
+            this.ready = published;
+            this.fresh = true;
+        }
+    }
+
+    /**
+     * @return newest published frame, or the previous one if nothing new has been published
+     */
+    public synchronized Frame latest() {
+        if (fresh) {
+            Frame taken = ready;
+            this.ready = front;
+            this.front = taken;
+            this.fresh = false;
+        }
+        return front;
+    }
+}
@@ -0,0 +1,97 @@
+package com.chip8.emulator;
+
+import lombok.Data;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * paces emulation to 60 frames per second. every frame runs a fixed amount
+ * of instructions and ticks the timers once, so same input always gives same result.
+ * frame deadlines are counted from the start time, so sleeping too long on one
+ * frame is made up on the next ones instead of adding up
+ */
+@Data
+public class FrameScheduler {
+
+    public static final int FRAME_RATE = 60;
+    private static final int MAX_LAG = 5; // frames behind before giving up on catching up
+
+    private volatile int cyclesPerFrame;
+    private volatile boolean turbo; // frames are run back to back without waiting
+    private volatile long instructions; // instructions run so far, for measuring speed
+    private long start; // nanoTime of frame 0
+    private long frames; // frames since start
+
+    /**
+     * @param cyclesPerFrame instructions executed on each frame
+     */
+    public FrameScheduler(int cyclesPerFrame) {
+        this.cyclesPerFrame = cyclesPerFrame;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * @param executer emulator to run the frame on
+     */
+    public void runFrame(Executer executer) {
+        this.runFrame(executer, cyclesPerFrame);
+    }
+
+    /**
+     * @param executer emulator to run the frame on
+     * @param cycles   instructions to run on this frame
+     */
+    public void runFrame(Executer executer, int cycles) {
+        executer.frame(cycles);
+        this.instructions += cycles;
+    }
+
+    /**
+     * runs one frame, or in turbo mode runs frames back to back until a 60 hz frame
+     * of wall time has passed. display, fade and rewind only need updating once
+     * after this, since nobody sees the frames in between
+     *
+     * @param executer  emulator to run the frames on
+     * @param recording input log that gets every frame, null when not recording
+     * @param mask      pressed keys for the frames
+     * @return amount of frames run
+     */
+    public int runFrames(Executer executer, InputLog recording, int mask) {
+        long end = System.nanoTime() + 1_000_000_000L / FRAME_RATE;
+        int frames = 0;
+        do {
+            int cycles = cyclesPerFrame;
+            if (recording != null) {
+                recording.record(executer.getFrameCount(), mask, cycles);
+            }
+            this.runFrame(executer, cycles);
+            frames++;
+        } while (turbo && System.nanoTime() - end < 0);
+        return frames;
+    }
+
+    /**
+     * sleeps until the next frame should start, in turbo mode returns right away
+     */
+    public void waitForNextFrame() {
+        if (turbo) {
+            // keep counting from now so leaving turbo doesn't try to catch up
+            this.start = System.nanoTime();
+            this.frames = 0;
+            return;
+        }
+        this.frames++;
+        long deadline = start + frames * 1_000_000_000L / FRAME_RATE;
+        long now = System.nanoTime();
+        if (now - deadline > MAX_LAG * 1_000_000_000L / FRAME_RATE) {
+            // way behind, for example after a breakpoint, start counting again from now
+            this.start = now;
+            this.frames = 0;
+            return;
+        }
+        while (deadline - now > 0) {
+            LockSupport.parkNanos(deadline - now);
+            now = System.nanoTime();
+        }
+    }
+}
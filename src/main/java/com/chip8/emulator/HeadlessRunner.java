@@ -0,0 +1,102 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import lombok.Data;
+
+/**
+ * runs a rom as fast as possible without any ui,
+ * used for regression runs and measuring speed
+ */
+@Data
+public class HeadlessRunner {
+
+    private final PixelManager pixels;
+    private final Keys keys;
+    private final Executer executer;
+    private final int cyclesPerFrame;
+    private int frameCycles; // instructions run in the current frame
+    private long instructions; // instructions executed so far
+    private long nanos; // time spent executing
+
+    /**
+     * @param rom     path to the rom file
+     * @param configs configs with the quirks to use
+     */
+    public HeadlessRunner(String rom, Configs configs) {
+        this.pixels = new PixelManager(128, 64);
+        this.pixels.setFade(false); // nobody is looking at the fade
+        this.keys = new Keys();
+        this.executer = new Executer(rom, pixels, keys, configs);
+        this.executer.specialHires(pixels); // same as the ui does when a rom is started
+        this.cyclesPerFrame = configs.getCyclesPerFrame();
+    }
+
+    /**
+     * runs whole frames through the executer, same as in the ui. if cycles doesn't end
+     * on a frame boundary the last frame is left open and the next call finishes it
+     *
+     * @param cycles amount of instructions to execute
+     */
+    public void run(long cycles) {
+        long start = System.nanoTime();
+        for (long left = cycles; left > 0; ) {
+            if (frameCycles == 0 && left >= cyclesPerFrame) {
+                executer.frame(cyclesPerFrame);
+                left -= cyclesPerFrame;
+                continue;
+            }
+            // partial frame, timers are ticked once the frame is full
+            int n = (int) Math.min(left, cyclesPerFrame - frameCycles);
+            executer.run(n);
+            left -= n;
+            this.frameCycles += n;
+            if (frameCycles == cyclesPerFrame) {
+                executer.endFrame();
+                this.frameCycles = 0;
+            }
+        }
+        this.nanos += System.nanoTime() - start;
+        this.instructions += cycles;
+    }
+
+    /**
+     * @param frames amount of 60 hz frames to execute
+     */
+    public void runFrames(long frames) {
+        this.run(frames * cyclesPerFrame - frameCycles);
+    }
+
+    /**
+     * replays a recorded session from the start of the rom, as fast as possible
+     *
+     * @param log recorded seed and input
+     */
+    public void replay(InputLog log) {
+        executer.seed(log.getSeed());
+        this.replayUntil(log, log.getLength());
+    }
+
+    /**
+     * continues a replay from the frame the executer is at, can be called again
+     * with a later frame to stop at checkpoints on the way
+     *
+     * @param log   recorded input, seed has to be set before the first frame
+     * @param frame frame to stop before
+     */
+    public void replayUntil(InputLog log, long frame) {
+        long start = System.nanoTime();
+        while (executer.getFrameCount() < frame) {
+            int cycles = log.replay(executer.getFrameCount(), keys);
+            executer.frame(cycles);
+            this.instructions += cycles;
+        }
+        this.nanos += System.nanoTime() - start;
+    }
+
+    /**
+     * @return instructions executed per second
+     */
+    public double instructionsPerSecond() {
+        return nanos == 0 ? 0 : instructions * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,145 @@
+package com.chip8.emulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * recorded session: random seed and key states for each frame. only frames where
+ * pressed keys or cycles per frame change are stored. with the same rom and quirks
+ * replaying the log gives exactly the same run
+ * <p>
+ * file format is text, first line "chip36-input 1 seed frames" and then one
+ * "frame keymask cycles" line per change, numbers in hex
+ */
+public class InputLog {
+
+    private static final String HEADER = "chip36-input";
+    private static final int VERSION = 1;
+
+    private final long seed;
+    private long[] frames; // frame where the change happens
+    private int[] masks; // pressed keys from that frame on
+    private int[] cycles; // cycles per frame from that frame on
+    private int size;
+    private long length; // frames in the whole session
+    private int cursor; // replay position
+
+    /**
+     * @param seed seed the emulator was started with
+     */
+    public InputLog(long seed) {
+        this.seed = seed;
+        this.frames = new long[64];
+        this.masks = new int[64];
+        this.cycles = new int[64];
+    }
+
+    /**
+     * called at the start of every frame while recording
+     *
+     * @param frame  current frame
+     * @param mask   pressed keys
+     * @param cycles instructions run on this frame
+     */
+    public void record(long frame, int mask, int cycles) {
+        this.length = frame + 1;
+        if (size > 0 && masks[size - 1] == mask && this.cycles[size - 1] == cycles) {
+            return;
+        }
+        if (size == frames.length) {
+            this.frames = Arrays.copyOf(frames, size * 2);
+            this.masks = Arrays.copyOf(masks, size * 2);
+            this.cycles = Arrays.copyOf(this.cycles, size * 2);
+        }
+        this.frames[size] = frame;
+        this.masks[size] = mask;
+        this.cycles[size] = cycles;
+        this.size++;
+    }
+
+    /**
+     * sets keys for the frame, frames have to be replayed in order
+     *
+     * @param frame frame about to run
+     * @param keys  keys to set
+     * @return instructions to run on the frame
+     */
+    public int replay(long frame, Keys keys) {
+        if (frame == 0) {
+            this.cursor = 0;
+        }
+        while (cursor + 1 < size && frames[cursor + 1] <= frame) {
+            this.cursor++;
+        }
+        keys.setMask(masks[cursor]);
+        return cycles[cursor];
+    }
+
+    /**
+     * @return seed the session was started with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return amount of frames in the session
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return amount of stored changes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param file file to write to
+     * @throws IOException if writing fails
+     */
+    public void save(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(HEADER + " " + VERSION + " " + Long.toHexString(seed) + " " + Long.toHexString(length));
+            out.newLine();
+            for (int i = 0; i < size; i++) {
+                out.write(Long.toHexString(frames[i]) + " " + Integer.toHexString(masks[i]) + " " + Integer.toHexString(cycles[i]));
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param file file written by save
+     * @return recorded session
+     * @throws IOException if reading fails or file is not an input log
+     */
+    public static InputLog load(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            String[] header = line == null ? new String[0] : line.split(" ");
+            if (header.length != 4 || !header[0].equals(HEADER) || Integer.parseInt(header[1]) != VERSION) {
+                throw new IOException("not an input log: " + file);
+            }
+            InputLog log = new InputLog(Long.parseUnsignedLong(header[2], 16));
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] change = line.split(" ");
+                log.record(Long.parseLong(change[0], 16), Integer.parseInt(change[1], 16), Integer.parseInt(change[2], 16));
+            }
+            log.length = Long.parseLong(header[3], 16);
+            return log;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("input log is corrupted: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.chip8.emulator;
+
+/**
+ * handler for one decoded instruction, decoder keeps one of these for every opcode
+ */
+@FunctionalInterface
+public interface Instruction {
+
+    /**
+     * @param decoder decoder that has the opcode and emulator state
+     */
+    void execute(Decoder decoder);
+}
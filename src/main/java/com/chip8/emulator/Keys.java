@@ -2,17 +2,22 @@ package com.chip8.emulator;
 
 import com.chip8.configs.DefaultValues;
 import com.chip8.configs.KeybindSaver;
-import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 import lombok.Data;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * handles key presses for emulator, gets pressed keys from ui
+ * or from anything else that knows the names of the bound keys
  */
 @Data
 public class Keys {
 
-    private boolean[] keys = new boolean[16];
+    private static final int[] KEYPAD = {0x1, 0x2, 0x3, 0xC, 0x4, 0x5, 0x6, 0xD, 0x7, 0x8, 0x9, 0xE, 0xA, 0x0, 0xB, 0xF}; // key of each bind
+
+    // bit n is key n, written by the ui thread and latched by the emulation thread
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile int pressed; // keys the emulator sees, only changes when latched
     private String[] binds = new String[16];
 
     /**
@@ -31,56 +36,84 @@ public class Keys {
     }
 
     /**
-     * checks if the key is pressed or released and sets that key to correct state
+     * makes the keys pressed so far visible to the emulator, called once at the
+     * start of every frame so the whole frame runs and is recorded with the same keys
+     *
+     * @return pressed keys as bits, bit n is key n
+     */
+    public int latch() {
+        this.pressed = pending.get();
+        return pressed;
+    }
+
+    /**
+     * @return pressed keys the emulator sees as bits, bit n is key n
+     */
+    public int getMask() {
+        return pressed;
+    }
+
+    /**
+     * @return keys pressed in the ui that have not been latched yet
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * sets the keys right away without waiting for the next latch, used by replays
      *
-     * @param event keyEvent from javafx stage
+     * @param mask pressed keys as bits, bit n is key n
      */
-    public void setKey(KeyEvent event) {
-        if (event.getEventType().getName().equals("KEY_PRESSED")) {
-            this.setKey(true, event.getCode());
+    public void setMask(int mask) {
+        this.pending.set(mask & 0xFFFF);
+        this.pressed = mask & 0xFFFF;
+    }
+
+    /**
+     * @param key key 0 - F, only the low nibble is used
+     * @return true if key is pressed in the latched keys
+     */
+    public boolean isPressed(int key) {
+        return (pressed & 1 << (key & 0xF)) != 0;
+    }
+
+    /**
+     * key is seen by the emulator after the next latch
+     *
+     * @param key   key 0 - F
+     * @param state is the key pressed or not
+     */
+    public void setKey(int key, boolean state) {
+        int bit = 1 << key;
+        if (state) {
+            pending.getAndAccumulate(bit, (mask, b) -> mask | b);
+        } else {
+            pending.getAndAccumulate(bit, (mask, b) -> mask & ~b);
         }
-        if (event.getEventType().getName().equals("KEY_RELEASED")) {
-            this.setKey(false, event.getCode());
+    }
+
+    /**
+     * @param name name of a key
+     * @return key 0 - F that the name is bound to, -1 if it isn't bound
+     */
+    public int keyFor(String name) {
+        for (int i = 0; i < 16; i++) {
+            if (binds[i].equals(name)) {
+                return KEYPAD[i];
+            }
         }
+        return -1;
     }
 
     /**
      * @param state is the key pressed or not
-     * @param key   the key that is being pressed or released
+     * @param name  name of the key that is being pressed or released
      */
-    private void setKey(boolean state, KeyCode key) {
-        if (binds[0].equals(key.getName())) {
-            keys[1] = state;
-        } else if (binds[1].equals(key.getName())) {
-            keys[2] = state;
-        } else if (binds[2].equals(key.getName())) {
-            keys[3] = state;
-        } else if (binds[3].equals(key.getName())) {
-            keys[0xC] = state;
-        } else if (binds[4].equals(key.getName())) {
-            keys[4] = state;
-        } else if (binds[5].equals(key.getName())) {
-            keys[5] = state;
-        } else if (binds[6].equals(key.getName())) {
-            keys[6] = state;
-        } else if (binds[7].equals(key.getName())) {
-            keys[0xD] = state;
-        } else if (binds[8].equals(key.getName())) {
-            keys[7] = state;
-        } else if (binds[9].equals(key.getName())) {
-            keys[8] = state;
-        } else if (binds[10].equals(key.getName())) {
-            keys[9] = state;
-        } else if (binds[11].equals(key.getName())) {
-            keys[0xE] = state;
-        } else if (binds[12].equals(key.getName())) {
-            keys[0xA] = state;
-        } else if (binds[13].equals(key.getName())) {
-            keys[0] = state;
-        } else if (binds[14].equals(key.getName())) {
-            keys[0xB] = state;
-        } else if (binds[15].equals(key.getName())) {
-            keys[0xF] = state;
+    public void setKey(boolean state, String name) {
+        int key = this.keyFor(name);
+        if (key >= 0) {
+            this.setKey(key, state);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,7 @@ package com.chip8.emulator;
 
 import lombok.Data;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 
 /**
  * memory for emulator, contains every register and ram
@@ -19,16 +19,29 @@ public class Memory {
     private byte[] ram; // 64 kB memory, 0x0 - 0x1FF reserved for font data etc.
     private byte delayTimer; // 8-bit delay timer
     private byte soundTimer; // 8-bit sound timer
-    private ArrayDeque<Short> stack; // stack for 16-bit addresses used by 00EE and 2NNN
+    private CallStack stack; // stack for 16-bit addresses used by 00EE and 2NNN
+    private DecodeCache decodeCache; // predecoded instructions, invalidated on ram writes
+    private long[] dirtyPages; // bit per 256-byte page of ram written since clearDirtyPages
 
     /**
-     * initializes 4 kB ram and sets pc to start at 0x200
+     * initializes 64 kB ram and sets pc to start at 0x200, stack has the default depth
      */
     public Memory() {
+        this(CallStack.DEFAULT_DEPTH);
+    }
+
+    /**
+     * initializes 64 kB ram and sets pc to start at 0x200
+     *
+     * @param stackDepth max amount of return addresses on the stack
+     */
+    public Memory(int stackDepth) {
         this.ram = new byte[0xFFFF]; // regular c8 uses 0xFFF (4kB), XO-Chip 0xFFFF (64kB)
+        this.decodeCache = new DecodeCache(ram.length);
+        this.dirtyPages = new long[4];
         this.pc = 0x200; // starts at 0x200 since it's where the roms first byte is loaded in RAM
         this.v = new byte[16];
-        this.stack = new ArrayDeque<>();
+        this.stack = new CallStack(stackDepth);
         this.rpl = new byte[16];
         this.pitch = 64; // default value
         this.audio = new byte[]{0x00, 0x00, 0x00, 0x20, 0x40, 0x20, 0x00, 0x20, 0x40,
@@ -40,7 +53,55 @@ public class Memory {
      * @param b       byte content for ram
      */
     public void initializeMemory(short address, byte b) {
-        this.ram[address & 0xFFFF] = b;
+        this.write(address & 0xFFFF, b);
+    }
+
+    /**
+     * writes byte to ram, every write that can hit code should go through
+     * here so predecoded instructions get invalidated
+     *
+     * @param address ram address
+     * @param b       byte content for ram
+     */
+    public void write(int address, byte b) {
+        this.ram[address] = b;
+        this.decodeCache.invalidate(address);
+        this.dirtyPages[address >>> 14] |= 1L << (address >>> 8);
+    }
+
+    /**
+     * call after ram was changed in place without write(), drops predecoded
+     * instructions and marks every page dirty
+     */
+    public void ramChanged() {
+        this.decodeCache.clear();
+        Arrays.fill(dirtyPages, -1L);
+    }
+
+    /**
+     * @param page 256-byte page of ram
+     * @return true if page has been written since dirty pages were last cleared
+     */
+    public boolean isPageDirty(int page) {
+        return (dirtyPages[page >>> 6] & 1L << page) != 0;
+    }
+
+    /**
+     * marks every page clean, used by rewind when it takes a full copy of ram
+     */
+    public void clearDirtyPages() {
+        Arrays.fill(dirtyPages, 0);
+    }
+
+    /**
+     * replaces whole ram, drops all predecoded instructions since
+     * the contents may have been changed directly
+     *
+     * @param ram new ram
+     */
+    public void setRam(byte[] ram) {
+        this.ram = ram;
+        this.ramChanged();
     }
 
     /**
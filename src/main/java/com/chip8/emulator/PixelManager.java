@@ -1,9 +1,8 @@
 package com.chip8.emulator;
 
-import com.chip8.ui.FadePixel;
 import lombok.Data;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * manages pixels for jfx ui
@@ -11,12 +10,15 @@ import java.util.HashMap;
 @Data
 public class PixelManager {
 
-    private HashMap<Integer, HashMap<Integer, FadePixel>> fadeMap;
-    private boolean[][][] display;
+    private float[] fadeLevel; // fade of each pixel, index is y * 128 + x
+    private byte[] fadePlane; // plane the fading pixel was on, 1 default, 2 xo, 3 both
+    private int[] fading; // indexes of pixels that are still fading
+    private int fadingCount;
+    private long[][] display; // [plane][row * 2 + half], pixel x is bit 63 - (x % 64)
     private int x = 0;
     private int y = 0;
-    private boolean fade;
-    private double fadeSpeed;
+    private volatile boolean fade; // set from the ui thread
+    private volatile double fadeSpeed; // fade per call of fade(), set from the ui thread
     private boolean[][] spriteViewer;
     private int spriteHeight;
     private boolean resolutionMode; // true = hires, false = lores
@@ -24,38 +26,53 @@ public class PixelManager {
     private boolean xoMode; // true = uses extended colors
 
     /**
+     * display is always 128x64, lores only uses the top left quarter
+     *
      * @param width  screen width
      * @param height screen height
      */
     public PixelManager(int width, int height) {
-        this.fadeMap = new HashMap<>();
+        this.fadeLevel = new float[128 * 64];
+        this.fadePlane = new byte[128 * 64];
+        this.fading = new int[128 * 64];
         this.fade = true;
         this.fadeSpeed = 0.1;
-        for (int x = 0; x < width; x++) {
-            this.fadeMap.putIfAbsent(x, new HashMap<>());
-            for (int y = 0; y < height; y++) {
-                this.fadeMap.get(x).put(y, new FadePixel(0.0, (byte) 1));
-            }
-        }
-        this.display = new boolean[width][height][2]; // 0 is xo and 1 is default planet
+        this.display = new long[2][128]; // 0 is xo and 1 is default plane, 128x64 pixels each
         this.spriteViewer = new boolean[16][16];
         this.spriteHeight = 0;
         this.currentPlane = 1; // default plane
     }
 
     /**
-     * generate fade for pixels that are turned off
-     * fade is used for smoother look and to get rid of stutter and flicker
+     * generate fade for pixels that are turned off, called on the emulation thread
+     * once per frame before it is published. fade is used for smoother look and
+     * to get rid of stutter and flicker
      */
     public void fade() {
-        for (int x = 0; x < this.fadeMap.size(); x++) {
-            for (int y = 0; y < this.fadeMap.get(x).size(); y++) {
-                double d = this.fadeMap.get(x).get(y).getFade();
-                this.fadeMap.get(x).get(y).setFade(d - fadeSpeed);
+        int i = 0;
+        while (i < fadingCount) {
+            int pixel = fading[i];
+            float level = fadeLevel[pixel] - (float) fadeSpeed;
+            if (level > 0) {
+                this.fadeLevel[pixel] = level;
+                i++;
+            } else {
+                // faded out, last pixel in the list takes its place
+                this.fadeLevel[pixel] = 0;
+                this.fading[i] = fading[--fadingCount];
             }
         }
     }
 
+    /**
+     * @param x coordinate x
+     * @param y coordinate y
+     * @return fade level of the pixel, 0 when it is not fading
+     */
+    public float getFade(int x, int y) {
+        return fadeLevel[y * 128 + x];
+    }
+
     /**
      * if the display is going to be erased, instead of erasing it right away
      * we are going to add it to a fade map, that lets the pixel fade out slowly
@@ -66,16 +83,59 @@ public class PixelManager {
      */
     public void draw(int x, int y, int i) {
         if (fade) fader(x, y);
-        this.display[x][y][i] = !this.display[x][y][i];
+        this.display[i][word(x, y)] ^= bit(x);
+    }
+
+    /**
+     * xors one sprite row into a plane, whole row is handled with
+     * word operations and wraps around the right edge of the screen
+     *
+     * @param x              x coordinate of the leftmost sprite pixel
+     * @param y              y coordinate of the row
+     * @param bits           sprite row data, leftmost pixel is the highest bit
+     * @param width          width of the sprite, 8 or 16
+     * @param plane          plane to draw to
+     * @param collisionPlane plane that is checked for erased pixels
+     * @return true if a lit pixel in the collision plane was hit
+     */
+    public boolean drawRow(int x, int y, int bits, int width, int plane, int collisionPlane) {
+        if (bits == 0) {
+            return false;
+        }
+        x &= 127;
+        int row = (y & 63) * 2;
+        long sprite = (long) bits << (64 - width);
+        long left;
+        long right;
+        if (x < 64) {
+            left = sprite >>> x;
+            right = x == 0 ? 0 : sprite << (64 - x);
+        } else {
+            right = sprite >>> (x - 64);
+            left = x == 64 ? 0 : sprite << (128 - x);
+        }
+        boolean collision = ((display[collisionPlane][row] & left) | (display[collisionPlane][row + 1] & right)) != 0;
+        if (fade) {
+            fadeRow(row, left, 0);
+            fadeRow(row + 1, right, 64);
+        }
+        this.display[plane][row] ^= left;
+        this.display[plane][row + 1] ^= right;
+        return collision;
     }
 
     /**
      * clears display
      */
     public void clearDisplay() {
-        for (int x = 0; x < 128; x++) {
-            for (int y = 0; y < 64; y++) {
-                erase(x, y);
+        for (int i = 0; i < 2; i++) {
+            if (currentPlane == 3 || i == (currentPlane == 2 ? 0 : 1)) {
+                if (fade) {
+                    for (int row = 0; row < 128; row++) {
+                        fadeRow(row, display[i][row], (row & 1) * 64);
+                    }
+                }
+                Arrays.fill(display[i], 0);
             }
         }
     }
@@ -90,14 +150,27 @@ public class PixelManager {
         this.spriteViewer[x][y] = true;
     }
 
+    /**
+     * draws whole sprite row on sprite display
+     *
+     * @param y     row of the sprite
+     * @param bits  sprite row data, leftmost pixel is the highest bit
+     * @param width width of the sprite, 8 or 16
+     */
+    public void drawSpriteRow(int y, int bits, int width) {
+        for (int x = 0; x < width; x++) {
+            if ((bits & (1 << (width - 1 - x))) != 0) {
+                this.spriteViewer[x][y] = true;
+            }
+        }
+    }
+
     /**
      * clears sprite display
      */
     public void clearSprite() {
         for (int x = 0; x < 16; x++) {
-            for (int y = 0; y < 16; y++) {
-                this.spriteViewer[x][y] = false;
-            }
+            Arrays.fill(spriteViewer[x], false);
         }
     }
 
@@ -108,7 +181,62 @@ public class PixelManager {
      * @return state of that pixel
      */
     public boolean getPixel(int x, int y, int plane) {
-        return this.display[x][y][plane];
+        return (this.display[plane][word(x, y)] & bit(x)) != 0;
+    }
+
+    private void setPixel(int x, int y, int plane, boolean state) {
+        if (state) {
+            this.display[plane][word(x, y)] |= bit(x);
+        } else {
+            this.display[plane][word(x, y)] &= ~bit(x);
+        }
+    }
+
+    /**
+     * copies display, fading pixels and modes to a frame
+     *
+     * @param frame frame to copy to
+     */
+    public void copyTo(Frame frame) {
+        System.arraycopy(display[0], 0, frame.getDisplay()[0], 0, 128);
+        System.arraycopy(display[1], 0, frame.getDisplay()[1], 0, 128);
+        // only the active pixels are copied, the rest of the frame's fade arrays is not read
+        System.arraycopy(fading, 0, frame.getFading(), 0, fadingCount);
+        for (int i = 0; i < fadingCount; i++) {
+            int pixel = fading[i];
+            frame.getFadeLevel()[pixel] = fadeLevel[pixel];
+            frame.getFadePlane()[pixel] = fadePlane[pixel];
+        }
+        frame.setFadingCount(fadingCount);
+        frame.setResolutionMode(resolutionMode);
+        frame.setXoMode(xoMode);
+    }
+
+    private static int word(int x, int y) {
+        return y * 2 + (x >> 6);
+    }
+
+    private static long bit(int x) {
+        return 1L << (63 - (x & 63));
+    }
+
+    /**
+     * hash of both planes, same display always gives the same hash
+     * so it can be used to compare runs
+     *
+     * @return 64-bit FNV-1a hash of the display
+     */
+    public long displayHash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int plane = 0; plane < 2; plane++) {
+            for (int y = 0; y < 64; y++) {
+                for (int x = 0; x < 128; x++) {
+                    hash ^= getPixel(x, y, plane) ? 1 : 0;
+                    hash *= 0x100000001b3L;
+                }
+            }
+        }
+        return hash;
     }
 
     /**
@@ -119,7 +247,7 @@ public class PixelManager {
     public void printDisplay(String symbol) {
         for (int y = 0; y < (resolutionMode ? 64 : 32); y++) {
             for (int x = 0; x < (resolutionMode ? 128 : 64); x++) {
-                if (this.display[x][y][1]) {
+                if (getPixel(x, y, 1)) {
                     System.out.print(symbol);
                 } else {
                     for (int n = 0; n < symbol.length(); n++) {
@@ -131,44 +259,49 @@ public class PixelManager {
         }
     }
 
-    private void drawScrolling(int x, int y, int amount, Scroll dir) {
-        if (fade) fader(x, y);
-        for (int i = (currentPlane > 1 ? 0 : 1); i < (currentPlane == 3 || currentPlane == 1 ? 2 : 1); i++) {
-            if (dir == Scroll.DOWN) {
-                this.display[x][y][i] = display[x][y - amount][i];
-            } else if (dir == Scroll.LEFT) {
-                this.display[x][y][i] = display[x + amount][y][i];
-            } else if (dir == Scroll.RIGHT) {
-                this.display[x][y][i] = display[x - amount][y][i];
-            } else if (dir == Scroll.UP) {
-                this.display[x][y][i] = display[x][y + amount][i];
-            }
-        }
-    }
-
     private void fader(int x, int y) {
-        if ((currentPlane == 2 || currentPlane == 3) && this.display[x][y][0]) {
-            this.fadeMap.get(x).put(y, new FadePixel(0.95, (byte) 2));
+        boolean xo = getPixel(x, y, 0);
+        boolean normal = getPixel(x, y, 1);
+        if ((currentPlane == 2 || currentPlane == 3) && xo) {
+            this.startFade(x, y, (byte) 2);
         }
-        if ((currentPlane == 1 || currentPlane == 3) && this.display[x][y][1]) {
-            this.fadeMap.get(x).put(y, new FadePixel(0.95, (byte) 1));
+        if ((currentPlane == 1 || currentPlane == 3) && normal) {
+            this.startFade(x, y, (byte) 1);
         }
-        if (currentPlane == 3 && this.display[x][y][1] && this.display[x][y][0]) {
-            this.fadeMap.get(x).put(y, new FadePixel(0.95, (byte) 3));
+        if (currentPlane == 3 && normal && xo) {
+            this.startFade(x, y, (byte) 3);
         }
     }
 
-    private void erase(int x, int y) {
-        if (currentPlane == 3) {
-            for (int i = 0; i < 2; i++) {
-                if (this.display[x][y][i]) {
-                    draw(x, y, i);
-                }
-            }
-        } else {
-            if (this.display[x][y][currentPlane == 2 ? 0 : 1]) {
-                this.draw(x, y, currentPlane == 2 ? 0 : 1);
-            }
+    private void startFade(int x, int y, byte plane) {
+        int pixel = y * 128 + x;
+        if (fadeLevel[pixel] <= 0) {
+            this.fading[fadingCount++] = pixel;
+        }
+        this.fadeLevel[pixel] = 0.95f;
+        this.fadePlane[pixel] = plane;
+    }
+
+    /**
+     * calls fader for the pixels in mask that are lit in the planes fader looks at
+     *
+     * @param row    word index of the row
+     * @param mask   pixels that are going to change
+     * @param offset x coordinate of the highest bit in the word
+     */
+    private void fadeRow(int row, long mask, int offset) {
+        long lit = 0;
+        if (currentPlane == 2 || currentPlane == 3) {
+            lit |= display[0][row];
+        }
+        if (currentPlane == 1 || currentPlane == 3) {
+            lit |= display[1][row];
+        }
+        lit &= mask;
+        while (lit != 0) {
+            int x = offset + Long.numberOfLeadingZeros(lit);
+            fader(x, row / 2);
+            lit &= ~Long.highestOneBit(lit);
         }
     }
 
@@ -179,17 +312,12 @@ public class PixelManager {
      */
     public void scrollDown(int amount) {
         amount = scrollBy(amount);
-        // draw screen bottom to top
-        for (int y = 63; y >= amount; y--) {
-            for (int x = 0; x < 128; x++) {
-                drawScrolling(x, y, amount, Scroll.DOWN);
-            }
-        }
-
-        // now clear top side
-        for (int x = 0; x < 128; x++) {
-            for (int y = 0; y < amount; y++) {
-                erase(x, y);
+        this.fadeScreen();
+        for (int i = 0; i < 2; i++) {
+            if (scrolls(i)) {
+                // rows are moved as whole, top side is cleared
+                System.arraycopy(display[i], 0, display[i], amount * 2, (64 - amount) * 2);
+                Arrays.fill(display[i], 0, amount * 2, 0);
             }
         }
     }
@@ -201,15 +329,11 @@ public class PixelManager {
      */
     public void scrollUp(int amount) {
         amount = scrollBy(amount);
-        for (int y = 0; y < 64 - amount; y++) {
-            for (int x = 0; x < 128; x++) {
-                drawScrolling(x, y, amount, Scroll.UP);
-            }
-        }
-
-        for (int x = 0; x < 128; x++) {
-            for (int y = 64 - amount; y < 64; y++) {
-                erase(x, y);
+        this.fadeScreen();
+        for (int i = 0; i < 2; i++) {
+            if (scrolls(i)) {
+                System.arraycopy(display[i], amount * 2, display[i], 0, (64 - amount) * 2);
+                Arrays.fill(display[i], (64 - amount) * 2, 128, 0);
             }
         }
     }
@@ -220,16 +344,15 @@ public class PixelManager {
      */
     public void scrollRight() {
         int amount = scrollBy(4);
-
-        for (int y = 0; y < 64; y++) {
-            for (int x = 127; x >= amount; x--) {
-                drawScrolling(x, y, amount, Scroll.RIGHT);
-            }
-        }
-
-        for (int x = 0; x < amount; x++) {
-            for (int y = 0; y < 64; y++) {
-                erase(x, y);
+        this.fadeScreen();
+        for (int i = 0; i < 2; i++) {
+            if (scrolls(i)) {
+                long[] plane = display[i];
+                for (int row = 0; row < 128; row += 2) {
+                    // bits pushed out of the left word move to the right word
+                    plane[row + 1] = (plane[row + 1] >>> amount) | (plane[row] << (64 - amount));
+                    plane[row] >>>= amount;
+                }
             }
         }
     }
@@ -240,17 +363,35 @@ public class PixelManager {
      */
     public void scrollLeft() {
         int amount = scrollBy(4);
-
-        for (int y = 63; y >= 0; y--) {
-            for (int x = 0; x < 127 - amount + 1; x++) {
-                drawScrolling(x, y, amount, Scroll.LEFT);
+        this.fadeScreen();
+        for (int i = 0; i < 2; i++) {
+            if (scrolls(i)) {
+                long[] plane = display[i];
+                for (int row = 0; row < 128; row += 2) {
+                    plane[row] = (plane[row] << amount) | (plane[row + 1] >>> (64 - amount));
+                    plane[row + 1] <<= amount;
+                }
             }
         }
+    }
 
-        for (int x = 128 - amount; x < 128; x++) {
-            for (int y = 0; y < 64; y++) {
-                erase(x, y);
-            }
+    /**
+     * @param plane plane index, 0 is xo and 1 is default plane
+     * @return true if plane is selected and gets scrolled
+     */
+    private boolean scrolls(int plane) {
+        return currentPlane == 3 || plane == (currentPlane == 2 ? 0 : 1) && currentPlane != 0;
+    }
+
+    /**
+     * every lit pixel changes or moves when scrolling, so all of them leave a fade trail
+     */
+    private void fadeScreen() {
+        if (!fade) {
+            return;
+        }
+        for (int row = 0; row < 128; row++) {
+            fadeRow(row, -1L, (row & 1) * 64);
         }
     }
 
@@ -0,0 +1,189 @@
+package com.chip8.emulator;
+
+import java.util.Arrays;
+
+/**
+ * counts executed instructions by opcode family and by pc, and times draws and scrolls.
+ * executer only calls this when a profiler is set, so it costs nothing when off
+ */
+public class Profiler {
+
+    public static final String[] FAMILIES = {"0NNN", "1NNN", "2NNN", "3XNN", "4XNN", "5XYN", "6XNN", "7XNN",
+        "8XYN", "9XY0", "ANNN", "BNNN", "CXNN", "DXYN", "EXNN", "FXNN"};
+
+    private final long[] families = new long[16];
+    private final long[] pcs = new long[0x10000];
+    private long drawCalls;
+    private long drawNanos;
+    private long scrollCalls;
+    private long scrollNanos;
+
+    /**
+     * counts the instruction and executes it, draws and scrolls are timed
+     *
+     * @param decoder decoder that executes the instruction
+     * @param handler handler for the opcode
+     * @param opcode  opcode being executed
+     * @param pc      address the opcode was fetched from
+     */
+    public void execute(Decoder decoder, Instruction handler, short opcode, int pc) {
+        int family = (opcode & 0xF000) >>> 12;
+        this.families[family]++;
+        this.pcs[pc & 0xFFFF]++;
+        if (family == 0xD) {
+            long start = System.nanoTime();
+            decoder.execute(handler, opcode);
+            this.drawNanos += System.nanoTime() - start;
+            this.drawCalls++;
+        } else if (isScroll(opcode)) {
+            long start = System.nanoTime();
+            decoder.execute(handler, opcode);
+            this.scrollNanos += System.nanoTime() - start;
+            this.scrollCalls++;
+        } else {
+            decoder.execute(handler, opcode);
+        }
+    }
+
+    /**
+     * @param opcode opcode to check
+     * @return true for 00CN, 00DN, 00FB and 00FC
+     */
+    static boolean isScroll(short opcode) {
+        int op = opcode & 0xFFFF;
+        return (op & 0xFFE0) == 0x00C0 || op == 0x00FB || op == 0x00FC;
+    }
+
+    /**
+     * @param family top nibble of the opcode
+     * @return instructions executed from the family
+     */
+    public long getFamilyCount(int family) {
+        return families[family];
+    }
+
+    /**
+     * @param pc ram address
+     * @return instructions executed from the address
+     */
+    public long getPcCount(int pc) {
+        return pcs[pc];
+    }
+
+    /**
+     * @return total amount of instructions counted
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long count : families) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * safe to call while the emulation thread is counting, counts are read once
+     * into a snapshot before sorting
+     *
+     * @param n max amount of addresses
+     * @return addresses that were executed the most, most executed first
+     */
+    public int[] hottest(int n) {
+        // count in the high bits and inverted pc in the low 16, so sorting the keys
+        // orders by count and then by pc from low to high on ties
+        long[] keys = new long[pcs.length];
+        int executed = 0;
+        for (int pc = 0; pc < pcs.length; pc++) {
+            long count = pcs[pc];
+            if (count != 0) {
+                keys[executed++] = Math.min(count, Long.MAX_VALUE >>> 16) << 16 | (0xFFFF - pc);
+            }
+        }
+        Arrays.sort(keys, 0, executed);
+        int[] hot = new int[Math.min(n, executed)];
+        for (int i = 0; i < hot.length; i++) {
+            hot[i] = 0xFFFF - (int) (keys[executed - 1 - i] & 0xFFFF);
+        }
+        return hot;
+    }
+
+    /**
+     * @return amount of DXYN instructions
+     */
+    public long getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return time spent in DXYN instructions
+     */
+    public long getDrawNanos() {
+        return drawNanos;
+    }
+
+    /**
+     * @return amount of scroll instructions
+     */
+    public long getScrollCalls() {
+        return scrollCalls;
+    }
+
+    /**
+     * @return time spent in scroll instructions
+     */
+    public long getScrollNanos() {
+        return scrollNanos;
+    }
+
+    /**
+     * clears all counts and times
+     */
+    public void reset() {
+        Arrays.fill(families, 0);
+        Arrays.fill(pcs, 0);
+        this.drawCalls = 0;
+        this.drawNanos = 0;
+        this.scrollCalls = 0;
+        this.scrollNanos = 0;
+    }
+
+    /**
+     * @return counts as csv with type, name, count and nanos columns, pcs are most executed first
+     */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder("type,name,count,nanos\n");
+        for (int i = 0; i < families.length; i++) {
+            sb.append("family,").append(FAMILIES[i]).append(',').append(families[i]).append(",\n");
+        }
+        for (int pc : this.hottest(pcs.length)) {
+            sb.append("pc,").append(hex(pc)).append(',').append(pcs[pc]).append(",\n");
+        }
+        sb.append("draw,DXYN,").append(drawCalls).append(',').append(drawNanos).append('\n');
+        sb.append("scroll,00CN 00DN 00FB 00FC,").append(scrollCalls).append(',').append(scrollNanos).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * @return counts as json, pcs are most executed first
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"families\": {");
+        for (int i = 0; i < families.length; i++) {
+            sb.append(i == 0 ? "" : ",").append("\n    \"").append(FAMILIES[i]).append("\": ").append(families[i]);
+        }
+        sb.append("\n  },\n  \"pcs\": [");
+        int[] hot = this.hottest(pcs.length);
+        for (int i = 0; i < hot.length; i++) {
+            sb.append(i == 0 ? "" : ",").append("\n    {\"pc\": \"").append(hex(hot[i]))
+                .append("\", \"count\": ").append(pcs[hot[i]]).append('}');
+        }
+        sb.append(hot.length == 0 ? "],\n" : "\n  ],\n");
+        sb.append("  \"draw\": {\"calls\": ").append(drawCalls).append(", \"nanos\": ").append(drawNanos).append("},\n");
+        sb.append("  \"scroll\": {\"calls\": ").append(scrollCalls).append(", \"nanos\": ").append(scrollNanos).append("}\n}\n");
+        return sb.toString();
+    }
+
+    private static String hex(int pc) {
+        return String.format("0x%03X", pc);
+    }
+}
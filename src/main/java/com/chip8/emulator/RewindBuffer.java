@@ -0,0 +1,213 @@
+package com.chip8.emulator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * history of past frames for rewinding. every 60th frame is stored as a full save state (keyframe),
+ * frames in between only store registers and the ram pages and display rows that
+ * differ from their keyframe. oldest frames are dropped when history grows over the memory cap
+ */
+public class RewindBuffer {
+
+    private static final int KEYFRAME_INTERVAL = 60;
+    private static final int PAGE = 256; // ram is compared in pages of this size
+    private static final int ENTRY_OVERHEAD = 48; // rough size of entry object and array header
+
+    private final long capacity;
+    private final SaveState states;
+    private final ArrayDeque<Entry> entries;
+    private final long[][] keyDisplay; // display at the last keyframe
+    private byte[] keyRam; // ram at the last keyframe
+    private Entry keyframe;
+    private int sinceKeyframe;
+    private boolean captured; // newest entry is the current state, rewinding skips it
+    private long size; // bytes used by entries
+    private ByteBuffer out;
+
+    /**
+     * one captured frame, keyframe is null when the entry is a keyframe itself
+     */
+    private static class Entry {
+
+        private final byte[] data;
+        private final Entry keyframe;
+
+        private Entry(byte[] data, Entry keyframe) {
+            this.data = data;
+            this.keyframe = keyframe;
+        }
+    }
+
+    /**
+     * @param capacity max amount of bytes used for history
+     */
+    public RewindBuffer(long capacity) {
+        this.capacity = capacity;
+        this.states = new SaveState();
+        this.entries = new ArrayDeque<>();
+        this.keyDisplay = new long[2][128];
+    }
+
+    /**
+     * stores the current state as the newest frame
+     *
+     * @param m      memory to capture
+     * @param pixels display to capture
+     */
+    public void capture(Memory m, PixelManager pixels) {
+        Entry entry;
+        if (keyframe == null || sinceKeyframe >= KEYFRAME_INTERVAL || keyRam.length != m.getRam().length) {
+            entry = new Entry(states.save(m, pixels), null);
+            this.keyRam = m.getRam().clone();
+            m.clearDirtyPages(); // deltas only look at pages written after this
+            for (int i = 0; i < 2; i++) {
+                System.arraycopy(pixels.getDisplay()[i], 0, keyDisplay[i], 0, 128);
+            }
+            this.keyframe = entry;
+            this.sinceKeyframe = 0;
+        } else {
+            entry = new Entry(this.delta(m, pixels), keyframe);
+            this.sinceKeyframe++;
+        }
+        entries.addLast(entry);
+        this.size += entry.data.length + ENTRY_OVERHEAD;
+        this.captured = true;
+        this.trim();
+    }
+
+    /**
+     * restores the newest frame before the current state and removes it from history
+     *
+     * @param m      memory to restore to
+     * @param pixels display to restore to
+     * @return false if there is no history left
+     */
+    public boolean rewind(Memory m, PixelManager pixels) {
+        if (captured && !entries.isEmpty()) {
+            // newest capture is what is on screen already, restoring it would show nothing
+            Entry current = entries.pollLast();
+            this.size -= current.data.length + ENTRY_OVERHEAD;
+        }
+        this.captured = false;
+        Entry entry = entries.pollLast();
+        if (entry == null) {
+            return false;
+        }
+        this.size -= entry.data.length + ENTRY_OVERHEAD;
+        if (entry.keyframe == null) {
+            states.load(entry.data, m, pixels);
+        } else {
+            states.load(entry.keyframe.data, m, pixels);
+            this.applyDelta(entry.data, m, pixels);
+        }
+        // captures after rewinding start from a new keyframe
+        this.keyframe = null;
+        return true;
+    }
+
+    /**
+     * @return amount of frames in history
+     */
+    public int frames() {
+        return entries.size();
+    }
+
+    /**
+     * @return bytes used by history
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * drops all history
+     */
+    public void clear() {
+        entries.clear();
+        this.size = 0;
+        this.keyframe = null;
+        this.captured = false;
+    }
+
+    private byte[] delta(Memory m, PixelManager pixels) {
+        byte[] ram = m.getRam();
+        int capacityNeeded = 64 + 2 * m.getStack().size() + ram.length + ram.length / PAGE * 2 + 2 * 64 * 17 + 4;
+        if (out == null || out.capacity() < capacityNeeded) {
+            this.out = ByteBuffer.allocate(capacityNeeded);
+        }
+        out.clear();
+        SaveState.putRegisters(out, m, pixels);
+        for (int page = 0; page * PAGE < ram.length; page++) {
+            if (!m.isPageDirty(page)) {
+                continue; // not written since the keyframe
+            }
+            int start = page * PAGE;
+            int end = Math.min(ram.length, start + PAGE);
+            if (changed(ram, keyRam, start, end)) {
+                out.putShort((short) page);
+                out.put(ram, start, end - start);
+            }
+        }
+        out.putShort((short) -1);
+        long[][] display = pixels.getDisplay();
+        for (int plane = 0; plane < 2; plane++) {
+            for (int row = 0; row < 64; row++) {
+                long left = display[plane][row * 2];
+                long right = display[plane][row * 2 + 1];
+                if (left != keyDisplay[plane][row * 2] || right != keyDisplay[plane][row * 2 + 1]) {
+                    out.put((byte) (plane << 6 | row));
+                    out.putLong(left);
+                    out.putLong(right);
+                }
+            }
+        }
+        out.put((byte) -1);
+        byte[] data = new byte[out.position()];
+        out.flip();
+        out.get(data);
+        return data;
+    }
+
+    private void applyDelta(byte[] data, Memory m, PixelManager pixels) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        SaveState.getRegisters(in, m, pixels);
+        byte[] ram = m.getRam();
+        for (int page = in.getShort(); page != -1; page = in.getShort()) {
+            int start = page * PAGE;
+            in.get(ram, start, Math.min(ram.length, start + PAGE) - start);
+        }
+        m.ramChanged();
+        long[][] display = pixels.getDisplay();
+        for (int row = in.get(); row != -1; row = in.get()) {
+            int plane = row >> 6;
+            int word = (row & 63) * 2;
+            display[plane][word] = in.getLong();
+            display[plane][word + 1] = in.getLong();
+        }
+    }
+
+    private static boolean changed(byte[] a, byte[] b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (a[i] != b[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void trim() {
+        while (size > capacity && !entries.isEmpty()) {
+            Entry dropped = entries.pollFirst();
+            this.size -= dropped.data.length + ENTRY_OVERHEAD;
+            // frames left without their keyframe can't be restored anymore
+            while (!entries.isEmpty() && entries.peekFirst().keyframe != null) {
+                Entry orphan = entries.pollFirst();
+                this.size -= orphan.data.length + ENTRY_OVERHEAD;
+            }
+        }
+        if (entries.isEmpty()) {
+            this.keyframe = null;
+        }
+    }
+}
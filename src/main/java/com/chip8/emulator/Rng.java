@@ -0,0 +1,42 @@
+package com.chip8.emulator;
+
+/**
+ * xorshift64* random number generator for CXNN. plain long state, so it
+ * doesn't allocate or use atomics like java.util.Random does, every emulator has its own
+ */
+public class Rng {
+
+    private long state;
+
+    /**
+     * @param seed starting seed
+     */
+    public Rng(long seed) {
+        this.seed(seed);
+    }
+
+    /**
+     * @param seed new seed, same seed always gives the same numbers
+     */
+    public void seed(long seed) {
+        // splitmix64 step spreads the seed so that small and zero seeds work too
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        this.state = z == 0 ? 0x9E3779B97F4A7C15L : z;
+    }
+
+    /**
+     * @return random number between 0 and 255
+     */
+    public int nextByte() {
+        long x = state;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        this.state = x;
+        // high bits of the multiplied value are the best ones
+        return (int) ((x * 0x2545F4914F6CDD1DL) >>> 56);
+    }
+}
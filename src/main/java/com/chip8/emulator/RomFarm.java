@@ -0,0 +1,102 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * runs many roms headless at the same time, one task per rom on a fixed pool with
+ * a thread per core. every rom gets its own emulator, configs are only read
+ */
+public class RomFarm {
+
+    private final Configs configs;
+    private final long seed;
+    private final int threads;
+
+    /**
+     * result of one rom
+     */
+    @Data
+    public static class Result {
+        private final String rom;
+        private final long hash; // display hash after the run
+        private final long instructions;
+        private final long nanos; // wall time of the run
+        private final String error; // null if rom ran fine
+    }
+
+    /**
+     * @param configs configs with the quirks and cycles per frame to use, not changed while running
+     * @param seed    seed for the random numbers of every rom
+     * @param threads amount of roms run at the same time
+     */
+    public RomFarm(Configs configs, long seed, int threads) {
+        this.configs = configs;
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * @param roms   paths to the roms
+     * @param frames amount of 60 hz frames to run each rom
+     * @return results in the same order as the roms
+     */
+    public List<Result> run(List<String> roms, long frames) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (String rom : roms) {
+                futures.add(pool.submit(() -> this.runRom(rom, frames)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while running roms", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Result runRom(String rom, long frames) {
+        long start = System.nanoTime();
+        try {
+            HeadlessRunner runner = new HeadlessRunner(rom, configs);
+            runner.getExecuter().seed(seed);
+            runner.runFrames(frames);
+            return new Result(rom, runner.getPixels().displayHash(), runner.getInstructions(), System.nanoTime() - start, null);
+        } catch (RuntimeException e) {
+            // a broken rom shows up in the report instead of stopping the whole batch
+            return new Result(rom, 0, 0, System.nanoTime() - start, e.toString());
+        }
+    }
+
+    /**
+     * @param results results of a run
+     * @return csv with rom, hash, instructions, time in ms and error columns
+     */
+    public static String report(List<Result> results) {
+        StringBuilder sb = new StringBuilder("rom,hash,instructions,ms,error\n");
+        for (Result result : results) {
+            sb.append('"').append(result.getRom().replace("\"", "\"\"")).append("\",")
+                .append(String.format("%016x", result.getHash())).append(',')
+                .append(result.getInstructions()).append(',')
+                .append(String.format(Locale.ROOT, "%.1f", result.getNanos() / 1_000_000.0)).append(',')
+                .append(result.getError() == null ? "" : result.getError().replace(',', ';')).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package com.chip8.emulator;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * snapshot of the whole emulator state in a small binary format.
+ * ram and display are run-length encoded, so mostly empty 64 kB ram takes only a few bytes.
+ * <p>
+ * layout: magic, version, registers, timers, stack, audio, then the encoded ram
+ * and display. runs are written as varint (length &lt;&lt; 1 | 1) followed by the byte,
+ * literals as varint (length &lt;&lt; 1) followed by the bytes.
+ * buffers are reused between calls, so one instance should be used by one thread only
+ */
+public class SaveState {
+
+    private static final int MAGIC = 0x43333653; // "C36S"
+    private static final byte VERSION = 1;
+    private static final int MIN_RUN = 4; // shorter repeats are cheaper as literals
+
+    private ByteBuffer out;
+    private byte[] ram; // snapshot ram is decoded here before it is copied to memory
+    private final byte[] display;
+
+    public SaveState() {
+        this.display = new byte[2 * 128 * 8];
+    }
+
+    /**
+     * @param m      memory to save
+     * @param pixels display to save
+     * @return snapshot bytes
+     */
+    public byte[] save(Memory m, PixelManager pixels) {
+        byte[] ram = m.getRam();
+        // worst case nothing repeats, then encoding only adds a few header bytes
+        int capacity = 64 + 2 * m.getStack().size() + (ram.length + display.length) * 9 / 8;
+        if (out == null || out.capacity() < capacity) {
+            this.out = ByteBuffer.allocate(capacity);
+        }
+        out.clear();
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        putRegisters(out, m, pixels);
+        putVarint(out, ram.length);
+        encode(out, ram);
+        ByteBuffer words = ByteBuffer.wrap(display);
+        for (long[] plane : pixels.getDisplay()) {
+            for (long word : plane) {
+                words.putLong(word);
+            }
+        }
+        encode(out, display);
+        byte[] data = new byte[out.position()];
+        out.flip();
+        out.get(data);
+        return data;
+    }
+
+    /**
+     * restores a snapshot, predecoded instructions are dropped since ram changes.
+     * whole snapshot is checked and decoded before anything is restored,
+     * so a bad snapshot leaves memory and display as they were
+     *
+     * @param data   snapshot bytes made by save
+     * @param m      memory to restore to
+     * @param pixels display to restore to
+     * @throws IllegalArgumentException if data is not a snapshot of this version or doesn't fit the memory
+     */
+    public void load(byte[] data, Memory m, PixelManager pixels) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (data.length < 5 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("not a save state");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported save state version " + version);
+        }
+        int registers = in.position();
+        if (ram == null || ram.length != m.getRam().length) {
+            this.ram = new byte[m.getRam().length];
+        }
+        try {
+            skipRegisters(in, m);
+            int ramSize = getVarint(in);
+            if (ramSize != ram.length) {
+                throw new IllegalArgumentException("save state ram size " + ramSize + " does not match");
+            }
+            decode(in, ram);
+            decode(in, display);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("save state is corrupted", e);
+        }
+        in.position(registers);
+        getRegisters(in, m, pixels);
+        System.arraycopy(ram, 0, m.getRam(), 0, ram.length);
+        m.ramChanged();
+        ByteBuffer words = ByteBuffer.wrap(display);
+        for (long[] plane : pixels.getDisplay()) {
+            for (int i = 0; i < plane.length; i++) {
+                plane[i] = words.getLong();
+            }
+        }
+    }
+
+    /**
+     * writes everything except ram and display
+     *
+     * @param out    buffer to write to
+     * @param m      memory to save
+     * @param pixels display to save modes from
+     */
+    static void putRegisters(ByteBuffer out, Memory m, PixelManager pixels) {
+        out.put(m.getV());
+        out.put(m.getRpl());
+        out.put(m.getAudio());
+        out.putShort(m.getPitch());
+        out.putShort(m.getI());
+        out.putShort(m.getPc());
+        out.put(m.getDelayTimer());
+        out.put(m.getSoundTimer());
+        out.putShort((short) m.getStack().size());
+        // top of the stack first
+        for (int i = 0; i < m.getStack().size(); i++) {
+            out.putShort(m.getStack().get(i));
+        }
+        out.put((byte) ((pixels.isResolutionMode() ? 1 : 0) | (pixels.isXoMode() ? 2 : 0)));
+        out.put((byte) pixels.getCurrentPlane());
+    }
+
+    /**
+     * reads what putRegisters wrote
+     *
+     * @param in     buffer to read from
+     * @param m      memory to restore to
+     * @param pixels display to restore modes to
+     */
+    static void getRegisters(ByteBuffer in, Memory m, PixelManager pixels) {
+        in.get(m.getV());
+        in.get(m.getRpl());
+        in.get(m.getAudio());
+        m.setPitch(in.getShort());
+        m.setI(in.getShort());
+        m.setPc(in.getShort());
+        m.setDelayTimer(in.get());
+        m.setSoundTimer(in.get());
+        int stackSize = Short.toUnsignedInt(in.getShort());
+        if (stackSize > m.getStack().getDepth()) {
+            throw new IllegalArgumentException("stack of " + stackSize + " doesn't fit in depth " + m.getStack().getDepth());
+        }
+        // saved top first, pushed bottom first
+        int stackStart = in.position();
+        m.getStack().clear();
+        for (int i = stackSize - 1; i >= 0; i--) {
+            m.getStack().push(in.getShort(stackStart + 2 * i));
+        }
+        in.position(stackStart + 2 * stackSize);
+        byte modes = in.get();
+        pixels.setResolutionMode((modes & 1) != 0);
+        pixels.setXoMode((modes & 2) != 0);
+        pixels.setCurrentPlane(in.get());
+    }
+
+    /**
+     * moves past what putRegisters wrote without restoring anything
+     *
+     * @param in buffer to read from
+     * @param m  memory the registers would be restored to
+     * @throws IllegalArgumentException if saved stack doesn't fit in the memory's stack
+     */
+    static void skipRegisters(ByteBuffer in, Memory m) {
+        skip(in, m.getV().length + m.getRpl().length + m.getAudio().length + 8); // pitch, i, pc and timers
+        int stackSize = Short.toUnsignedInt(in.getShort());
+        if (stackSize > m.getStack().getDepth()) {
+            throw new IllegalArgumentException("stack of " + stackSize + " doesn't fit in depth " + m.getStack().getDepth());
+        }
+        skip(in, 2 * stackSize + 2); // stack and the two mode bytes
+    }
+
+    private static void skip(ByteBuffer in, int bytes) {
+        if (in.remaining() < bytes) {
+            throw new BufferUnderflowException();
+        }
+        in.position(in.position() + bytes);
+    }
+
+    private static void encode(ByteBuffer out, byte[] data) {
+        int literalStart = 0;
+        int i = 0;
+        while (i < data.length) {
+            int run = 1;
+            while (i + run < data.length && data[i + run] == data[i]) {
+                run++;
+            }
+            if (run < MIN_RUN) {
+                i += run;
+                continue;
+            }
+            putLiterals(out, data, literalStart, i);
+            putVarint(out, run << 1 | 1);
+            out.put(data[i]);
+            i += run;
+            literalStart = i;
+        }
+        putLiterals(out, data, literalStart, data.length);
+    }
+
+    private static void putLiterals(ByteBuffer out, byte[] data, int start, int end) {
+        if (end > start) {
+            putVarint(out, (end - start) << 1);
+            out.put(data, start, end - start);
+        }
+    }
+
+    private static void decode(ByteBuffer in, byte[] data) {
+        int i = 0;
+        while (i < data.length) {
+            int header = getVarint(in);
+            int length = header >>> 1;
+            if (length > data.length - i) {
+                throw new IllegalArgumentException("save state is corrupted");
+            }
+            if ((header & 1) != 0) {
+                Arrays.fill(data, i, i + length, in.get());
+                i += length;
+            } else {
+                in.get(data, i, length);
+                i += length;
+            }
+        }
+    }
+
+    private static void putVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("save state is corrupted");
+    }
+}
@@ -1,5 +0,0 @@
-package com.chip8.emulator;
-
-public enum Scroll {
-    UP, LEFT, RIGHT, DOWN
-}
@@ -0,0 +1,25 @@
+package com.chip8.emulator;
+
+/**
+ * thrown when a rom calls with a full stack or returns with an empty one
+ */
+public class StackFault extends IllegalStateException {
+
+    private final boolean overflow;
+
+    /**
+     * @param overflow true if stack was full, false if it was empty
+     * @param depth    max amount of addresses on the stack
+     */
+    public StackFault(boolean overflow, int depth) {
+        super(overflow ? "stack overflow, all " + depth + " entries in use" : "stack underflow, stack is empty");
+        this.overflow = overflow;
+    }
+
+    /**
+     * @return true if stack was full, false if it was empty
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+}
@@ -1,40 +1,50 @@
 package com.chip8.ui;
 
+import com.chip8.emulator.AudioRing;
+import com.chip8.emulator.AudioSynth;
+
 import javax.sound.sampled.*;
+import java.util.Arrays;
 
 /**
- * Audio handler for emulator
+ * Audio handler for emulator, keeps one line open and feeds it from the ring buffer.
+ * writing to the line blocks until sound card has room, so the thread doesn't spin
  */
 public class Audio {
 
+    private static final int CHUNK = 256; // samples per write, about 6 ms
+
+    private final AudioRing ring;
+
     /**
-     * play tones
-     *
-     * @param pitch  pitch register value
-     * @param buffer audio buffer values
-     * @throws LineUnavailableException
+     * @param ring ring buffer that synthesizer writes to
      */
-    public void tone(int pitch, byte[] buffer) throws LineUnavailableException {
-        tone(freq(pitch), buffer);
+    public Audio(AudioRing ring) {
+        this.ring = ring;
     }
 
-    private void tone(float hz, byte[] buffer) throws LineUnavailableException {
-        AudioFormat af = new AudioFormat(hz, 8, 1, true, false);
+    /**
+     * opens the line and starts the thread that plays samples, silence is played when ring is empty
+     *
+     * @throws LineUnavailableException if there is no audio device
+     */
+    public void start() throws LineUnavailableException {
+        AudioFormat af = new AudioFormat(AudioSynth.SAMPLE_RATE, 8, 1, true, false);
         SourceDataLine sdl = AudioSystem.getSourceDataLine(af);
-        sdl.open(af);
+        sdl.open(af, CHUNK * 8);
         sdl.start();
-        for (int i = 0; i < 16; i++) {
-            if (buffer[i] == (byte) 255) {
-                buffer[i] = (byte) 0x38;
+        Thread thread = new Thread(() -> {
+            byte[] chunk = new byte[CHUNK];
+            while (true) {
+                int n = ring.read(chunk, CHUNK);
+                if (n == 0) {
+                    Arrays.fill(chunk, (byte) 0);
+                    n = CHUNK;
+                }
+                sdl.write(chunk, 0, n);
             }
-            sdl.write(buffer, 0, 16);
-        }
-        sdl.drain();
-        sdl.stop();
-        sdl.close();
-    }
-
-    private float freq(int pitch) {
-        return (float) (4000 * Math.pow(2, (pitch - 64f) / 48f));
+        });
+        thread.setDaemon(true);
+        thread.start();
     }
 }
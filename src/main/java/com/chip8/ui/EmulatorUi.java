@@ -1,9 +1,19 @@
 package com.chip8.ui;
 
 import com.chip8.configs.Configs;
+import com.chip8.emulator.AudioRing;
+import com.chip8.emulator.AudioSynth;
+import com.chip8.emulator.CallStack;
 import com.chip8.emulator.Executer;
+import com.chip8.emulator.FrameBuffer;
+import com.chip8.emulator.FrameScheduler;
+import com.chip8.emulator.InputLog;
 import com.chip8.emulator.Keys;
 import com.chip8.emulator.PixelManager;
+import com.chip8.emulator.Profiler;
+import com.chip8.emulator.RewindBuffer;
+import com.chip8.emulator.SaveState;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -13,6 +23,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -22,23 +33,34 @@ import javafx.stage.Stage;
 import javax.sound.sampled.LineUnavailableException;
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * emulators main ui scene
  */
 public class EmulatorUi extends Stage {
 
-    private Executer executer;
-    private boolean fileChosen;
+    private volatile Executer executer; // replaced only on the emulation thread
+    private volatile boolean fileChosen;
     private File selectedFile;
     private double gameSpeed;
+    private final FrameBuffer frames = new FrameBuffer();
+    private final AudioRing audioRing = new AudioRing(4096); // under 0.1 s of samples
+    private final AudioSynth synth = new AudioSynth(audioRing);
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>(); // run on emulation thread between frames
+    private final SaveState saveState = new SaveState(); // only used on emulation thread
+    private volatile byte[] savedState;
+    private volatile boolean rewindKey; // backspace held down
+    private volatile boolean rewindHeld; // rewind button held down
+    private RewindBuffer rewind; // only used on emulation thread
+    private InputLog recording; // only used on emulation thread, null when not recording
+    private final Profiler profiler = new Profiler();
+    private volatile boolean profiling; // profiler window is open
     final int width = 128;
     final int height = 64;
-    private volatile boolean audioPlaying;
-    private volatile int prevAudioTone;
-    private volatile int prevSoundDelay;
 
     /**
      * generates ui for emulator
@@ -54,6 +76,7 @@ public class EmulatorUi extends Stage {
         FileChooser fileChooser = new FileChooser();
         Keys keys = new Keys();
         Configs configs = new Configs();
+        this.rewind = new RewindBuffer(configs.getRewindMegabytes() * 1024L * 1024L);
         Border border = new Border(new BorderStroke(Color.rgb(35, 255, 0),
                 BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT));
 
@@ -62,27 +85,33 @@ public class EmulatorUi extends Stage {
         Button selectRom = uiElements.makeButton("Select ROM");
         Button resetRom = uiElements.makeButton("Reset ROM");
         ToggleButton pause = uiElements.makeToggleButton("Pause ROM");
+        ToggleButton turbo = uiElements.makeToggleButton("Turbo");
         Button nextStep = uiElements.makeButton("Next Instruction");
         ToggleButton fadeButton = uiElements.makeToggleButton("Fade On");
         Button options = uiElements.makeButton("Options");
 
         Slider fadeSlider = uiElements.makeSlider(0.0001, 0.05, 0.05);
-        Slider slider = uiElements.makeSlider(-20, 40, 1);
+        Slider slider = uiElements.makeSlider(0, 40, 1);
         Label gameSpeedLabel = uiElements.makeLabel("ROM Speed: ", LabelType.TOOLBAR);
         Label fadeSpeedLabel = uiElements.makeLabel("Fade Speed: ", LabelType.TOOLBAR);
 
-        HBox hboxLeft = new HBox(4, selectRom, resetRom, pause, nextStep, fadeButton, options);
+        HBox hboxLeft = new HBox(4, selectRom, resetRom, pause, turbo, nextStep, fadeButton, options);
         HBox hboxRight = new HBox(4, fadeSpeedLabel, fadeSlider, gameSpeedLabel, slider);
         HBox toolbarHBoxTop = new HBox(45, hboxLeft, hboxRight);
 
         Button extDisassembler = uiElements.makeButton("Extended Disassembler");
         Button extStack = uiElements.makeButton("Extended Stack");
         ToggleButton randomColors = uiElements.makeToggleButton("Random");
+        Button saveStateButton = uiElements.makeButton("Save State");
+        Button loadStateButton = uiElements.makeButton("Load State");
+        Button rewindButton = uiElements.makeButton("Rewind");
+        ToggleButton recordButton = uiElements.makeToggleButton("Record Input");
+        Button profilerButton = uiElements.makeButton("Profiler");
         Label multiplierLabel = uiElements.makeLabel("ROM Speed Multiplier: ", LabelType.TOOLBAR);
         Slider multiplier = uiElements.makeSlider(1, 500, 1);
-        HBox hboxBotLeft = new HBox(4, extDisassembler, extStack, randomColors);
+        HBox hboxBotLeft = new HBox(4, extDisassembler, extStack, randomColors, saveStateButton, loadStateButton, rewindButton, recordButton, profilerButton);
         HBox hboxBotRight = new HBox(4, multiplierLabel, multiplier);
-        HBox toolbarHBoxBottom = new HBox(372, hboxBotLeft, hboxBotRight);
+        HBox toolbarHBoxBottom = new HBox(130, hboxBotLeft, hboxBotRight);
         VBox toolbarVBox = new VBox(5, toolbarHBoxTop, toolbarHBoxBottom);
         ToolBar toolBar = new ToolBar();
 
@@ -90,7 +119,9 @@ public class EmulatorUi extends Stage {
         Label currentFpsLabel = uiElements.makeLabel("0", LabelType.FPS);
         DecimalFormat df = new DecimalFormat("+####0.00;-#");
         Label currentSpeedLabel = uiElements.makeLabel(df.format(gameSpeed), LabelType.FPS);
-        VBox fpsCounter = new VBox(uiElements.makeLabel("FPS:", LabelType.FPS), currentFpsLabel, uiElements.makeLabel("Speed:", LabelType.FPS), currentSpeedLabel);
+        Label currentMipsLabel = uiElements.makeLabel("0", LabelType.FPS);
+        VBox fpsCounter = new VBox(uiElements.makeLabel("FPS:", LabelType.FPS), currentFpsLabel, uiElements.makeLabel("Speed:", LabelType.FPS), currentSpeedLabel,
+                uiElements.makeLabel("MIPS:", LabelType.FPS), currentMipsLabel);
         if (mode) {
             toolBar.getItems().add(new HBox(5, toolbarVBox, fpsCounter));
         } else {
@@ -150,7 +181,7 @@ public class EmulatorUi extends Stage {
         bottomPane.setRight(hexDumpArea);
         bottomPane.setLeft(disassembler);
 
-        RomDisplay romDisplay = new RomDisplay(pixels, width * scale, height * scale);
+        RomDisplay romDisplay = new RomDisplay(width * scale, height * scale);
 
         Keyboard keyboard = new Keyboard(keys);
         VBox vBoxKeyboard = new VBox(5, uiElements.makeLabel("Keyboard:", LabelType.TOOLBAR), keyboard);
@@ -203,7 +234,16 @@ public class EmulatorUi extends Stage {
         }
 
         // keyboard for emulator
-        scene.addEventFilter(KeyEvent.ANY, keys::setKey);
+        scene.addEventFilter(KeyEvent.ANY, new KeyHandler(keys)::setKey);
+        // holding backspace rewinds
+        scene.addEventFilter(KeyEvent.ANY, e -> {
+            if (e.getCode() == KeyCode.BACK_SPACE) {
+                rewindKey = e.getEventType() != KeyEvent.KEY_RELEASED;
+            }
+        });
+
+        // emulation thread can't read the button itself
+        rewindButton.pressedProperty().addListener((observable, was, pressed) -> rewindHeld = pressed);
 
         this.setOnCloseRequest(windowEvent -> System.exit(0));
 
@@ -212,23 +252,50 @@ public class EmulatorUi extends Stage {
             // 4096 total memory, - 512 reserved = 3584 max in regular chip8 / s-chip
             // in XO there is 65536 total memory, 512 still reserved so = 65024 max in xo-chip
             if (selectedFile == null || selectedFile.length() > 65024 || selectedFile.length() < 2) return;
-            this.executer = new Executer(selectedFile.getAbsolutePath(), pixels, keys, configs);
-            pixels.setResolutionMode(false);
-            fileChosen = true;
-            clearDisplay(pixels);
-            hexDumpArea.setText(executer.getLoader().hexDump());
+            String rom = selectedFile.getAbsolutePath();
+            tasks.add(() -> {
+                startRom(rom, pixels, keys, configs);
+                String hexDump = executer.getLoader().hexDump();
+                Platform.runLater(() -> hexDumpArea.setText(hexDump));
+            });
             this.setTitle("CHIP-36 Emulator | Loaded ROM: " + selectedFile.getName());
-
-            // check here if its 64x64 rom for hires mode
-            specialHires(pixels);
         });
 
         resetRom.setOnAction(e -> {
             if (selectedFile == null) return;
-            this.executer = new Executer(selectedFile.getAbsolutePath(), pixels, keys, configs);
-            fileChosen = true;
-            clearDisplay(pixels);
-            specialHires(pixels);
+            String rom = selectedFile.getAbsolutePath();
+            tasks.add(() -> startRom(rom, pixels, keys, configs));
+        });
+
+        recordButton.setOnAction(e -> {
+            if (selectedFile == null) {
+                recordButton.setSelected(false);
+                return;
+            }
+            // these would change the rom, ram or registers behind the recording's back
+            for (Control control : new Control[]{selectRom, resetRom, loadStateButton, nextStep,
+                stepButton, skipButton, forceOpcodeButton, ignoreDelay}) {
+                control.setDisable(recordButton.isSelected());
+            }
+            if (recordButton.isSelected()) {
+                recordButton.setText("Stop Recording");
+                ignoreDelay.setSelected(false);
+                long seed = System.nanoTime();
+                String rom = selectedFile.getAbsolutePath();
+                // recording starts from a fresh rom so it can be replayed from the start
+                tasks.add(() -> {
+                    startRom(rom, pixels, keys, configs);
+                    executer.seed(seed);
+                    this.recording = new InputLog(seed);
+                });
+            } else {
+                recordButton.setText("Record Input");
+                tasks.add(() -> {
+                    InputLog log = recording;
+                    this.recording = null;
+                    Platform.runLater(() -> saveRecording(fileChooser, log));
+                });
+            }
         });
 
         pause.setOnAction(e -> {
@@ -239,8 +306,16 @@ public class EmulatorUi extends Stage {
             }
         });
 
+        turbo.setOnAction(e -> {
+            if (!turbo.isSelected()) {
+                turbo.setText("Turbo");
+            } else {
+                turbo.setText("Turbo On");
+            }
+        });
+
         nextStep.setOnAction(e -> {
-            if (fileChosen) executer.execute();
+            if (fileChosen) tasks.add(() -> executer.execute());
         });
 
         fadeButton.setOnAction(e -> {
@@ -258,7 +333,8 @@ public class EmulatorUi extends Stage {
         forceOpcodeButton.setOnAction(e -> {
             if (selectedFile == null) return;
             if (forceOpcodeText.getText().matches("0x[0-9A-Fa-f]{4}")) {
-                executer.forceOpcode(Integer.decode(forceOpcodeText.getText()));
+                int opcode = Integer.decode(forceOpcodeText.getText());
+                tasks.add(() -> executer.forceOpcode(opcode));
             } else {
                 forceOpcodeText.setText("Bad format");
             }
@@ -266,14 +342,17 @@ public class EmulatorUi extends Stage {
 
         stepButton.setOnAction(e -> {
             if (selectedFile == null) return;
-            for (int i = 0; i < Integer.parseInt(stepText.getText()); i++) {
-                executer.execute();
-            }
+            int steps = Integer.parseInt(stepText.getText());
+            tasks.add(() -> {
+                for (int i = 0; i < steps; i++) {
+                    executer.execute();
+                }
+            });
         });
 
         skipButton.setOnAction(e -> {
             if (selectedFile == null) return;
-            executer.getFetcher().incrementPC();
+            tasks.add(() -> executer.getFetcher().incrementPC());
         });
 
         stepMinus.setOnAction(e -> {
@@ -291,118 +370,166 @@ public class EmulatorUi extends Stage {
         spriteExtract.setOnAction(e -> new SpriteExtractor(configs, spriteDisplay));
 
         extDisassembler.setOnAction(e -> {
-            if (selectedFile == null) return;
+            if (!fileChosen) return;
             new ExtendedDisassembler(executer);
         });
 
-        extStack.setOnAction(e -> {
+        saveStateButton.setOnAction(e -> {
             if (selectedFile == null) return;
+            tasks.add(() -> savedState = saveState.save(executer.getMemory(), pixels));
+        });
+
+        loadStateButton.setOnAction(e -> {
+            if (selectedFile == null || savedState == null) return;
+            tasks.add(() -> saveState.load(savedState, executer.getMemory(), pixels));
+        });
+
+        extStack.setOnAction(e -> {
+            if (!fileChosen) return;
             new ExtendedStack(executer);
         });
 
-        Audio audio = new Audio();
+        profilerButton.setOnAction(e -> {
+            if (profiling) return;
+            profiling = true;
+            new ExtendedProfiler(profiler).setOnHidden(event -> profiling = false);
+        });
 
-        // thread for audio handling
+        // audio is generated on timer ticks and played from its own line
+        try {
+            new Audio(audioRing).start();
+        } catch (LineUnavailableException e) {
+            e.printStackTrace();
+        }
+
+        FrameScheduler scheduler = new FrameScheduler(configs.getCyclesPerFrame());
+
+        // thread for emulation, runs one frame every 1/60 s
         new Thread(() -> {
             while (true) {
-                if (audioPlaying) {
-                    if (executer.getMemory().getSoundTimer() == 0) prevSoundDelay = 0;
-                    if (prevSoundDelay > executer.getMemory().getSoundTimer()) {
-                        if (prevAudioTone == executer.getMemory().getPitch()) {
-                            continue;
-                        }
-                    }
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
                     try {
-                        int pitch = executer.getMemory().getPitch();
-                        int timer = Math.max(1, Byte.toUnsignedInt(executer.getMemory().getSoundTimer()));
-                        audio.tone(pitch, executer.getMemory().getAudio());
-                        this.prevAudioTone = pitch;
-                        this.prevSoundDelay = timer;
-                    } catch (LineUnavailableException e) {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        // bad save state and such, emulation keeps running
                         e.printStackTrace();
                     }
                 }
+                // keys pressed during the frame are seen on the next one, so recordings replay the same
+                int mask = keys.latch();
+                if ((rewindKey || rewindHeld) && fileChosen && recording == null) {
+                    rewind.rewind(executer.getMemory(), pixels);
+                } else if (!pause.isSelected() && fileChosen) {
+                    executer.setProfiler(profiling ? profiler : null);
+                    // turbo runs many frames here, rewind keeps one of them per 60 hz frame
+                    scheduler.runFrames(executer, recording, mask);
+                    rewind.capture(executer.getMemory(), pixels);
+                }
+                // fade is advanced here so it is never changed while the frame is drawn
+                pixels.fade();
+                // ui picks up the newest frame on its own pulse
+                frames.publish(pixels);
+                scheduler.waitForNextFrame();
             }
         }).start();
 
-        // thread for everything else
-        new Thread(() -> {
-            while (true) {
-                try {
-                    if (gameSpeed <= 0) {
-                        Thread.sleep((long) Math.max(1, Math.abs(gameSpeed)));
-                        if (!pause.isSelected() && fileChosen) executer.execute();
-                    } else {
-                        Thread.sleep(1);
-                        if (!pause.isSelected() && fileChosen) {
-                            for (int i = 0; i < gameSpeed; i++) {
-                                executer.execute();
-                            }
-                        }
-                    }
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
+        // renders once per display refresh, only the newest frame is drawn
+        new AnimationTimer() {
+            private long measured; // when instructions were last measured
+            private long measuredInstructions;
+
+            @Override
+            public void handle(long now) {
+                gameSpeed = slider.getValue();
+                // fade slider is per millisecond, fade is advanced once per 60 hz frame
+                pixels.setFadeSpeed(fadeSlider.getValue() * 1000 / FrameScheduler.FRAME_RATE);
+                romDisplay.setFadeSelected(!fadeButton.isSelected());
+                gameSpeed *= multiplier.getValue();
+                scheduler.setCyclesPerFrame(cyclesPerFrame(gameSpeed));
+                scheduler.setTurbo(turbo.isSelected());
+                currentFpsLabel.setText(String.format("%.0f", fps.update(now)));
+                // measured instructions per second, updated twice a second so it is readable
+                if (now - measured >= 500_000_000L) {
+                    long instructions = scheduler.getInstructions();
+                    double mips = (instructions - measuredInstructions) * 1000.0 / (now - measured);
+                    currentMipsLabel.setText(String.format("%.2f", measured == 0 ? 0 : mips));
+                    this.measured = now;
+                    this.measuredInstructions = instructions;
                 }
-                Platform.runLater(() -> {
-                    gameSpeed = slider.getValue();
-                    pixels.setFadeSpeed(fadeSlider.getValue());
-                    romDisplay.setFadeSelected(!fadeButton.isSelected());
-                    gameSpeed *= multiplier.getValue();
-                    currentFpsLabel.setText(String.format("%.0f", fps.update(System.nanoTime())));
-
-                    if (!configs.isDisableUiUpdates()) {
-                        if (mode) {
-                            spriteDisplay.draw();
-                            currentSpeedLabel.setText(df.format(gameSpeed));
-                        }
 
-                        pixels.fade(); // fades all pixels that have been erased
-
-                        if (!fileChosen) return;
-                        romDisplay.draw();
-                        audioPlaying = executer.getMemory().getSoundTimer() != (byte) 0x0;
-
-                        if (mode) {
-                            updateLabels(currentInstruction, indexRegister, programCounter, delayTimer, soundTimer, registerLabels, currentDetailed, stackSize, stackPeek);
-                            disassembler.update(executer.getMemory().getPc(), executer.getFetcher());
-                            if (ignoreDelay.isSelected()) {
-                                executer.getMemory().setDelayTimer((byte) 0);
-                            }
-                            if (randomColors.isSelected()) {
-                                romDisplay.setBgColor(new RandomColors().getColor());
-                                romDisplay.setSpriteColor(new RandomColors().getColor());
-                                romDisplay.setPlaneColor(new RandomColors().getColor());
-                                romDisplay.setBothColor(new RandomColors().getColor());
-                            }
+                if (!configs.isDisableUiUpdates()) {
+                    if (mode) {
+                        spriteDisplay.draw();
+                        currentSpeedLabel.setText(df.format(gameSpeed));
+                    }
+
+                    if (!fileChosen) return;
+                    romDisplay.draw(frames.latest());
+
+                    if (mode) {
+                        updateLabels(currentInstruction, indexRegister, programCounter, delayTimer, soundTimer, registerLabels, currentDetailed, stackSize, stackPeek);
+                        disassembler.update(executer.getMemory().getPc(), executer.getFetcher());
+                        if (ignoreDelay.isSelected()) {
+                            tasks.add(() -> executer.getMemory().setDelayTimer((byte) 0));
+                        }
+                        if (randomColors.isSelected()) {
+                            romDisplay.setBgColor(new RandomColors().getColor());
+                            romDisplay.setSpriteColor(new RandomColors().getColor());
+                            romDisplay.setPlaneColor(new RandomColors().getColor());
+                            romDisplay.setBothColor(new RandomColors().getColor());
                         }
-                    } else {
-                        romDisplay.uiUpdatesDisabled();
                     }
-                });
+                } else {
+                    romDisplay.uiUpdatesDisabled();
+                }
             }
-        }).start();
+        }.start();
 
         this.show();
     }
 
-    private void clearDisplay(PixelManager pixels) {
-        pixels.setCurrentPlane(3);
-        pixels.clearDisplay();
-        pixels.setCurrentPlane(1);
-    }
-
     /**
-     * used to check if loaded rom is a special 64x64 resolution rom
+     * speed slider is in instructions per millisecond, zero runs at the slowest speed
      *
-     * @param pixels pixelmanager used by rom
+     * @param speed value of the speed sliders
+     * @return instructions per 60 hz frame
      */
-    private void specialHires(PixelManager pixels) {
-        if (executer.getMemory().getRam()[0x200] == 0x12 && executer.getMemory().getRam()[0x201] == 0x60) {
-            pixels.setResolutionMode(true);
-            executer.getMemory().setPc((short) 0x2c0);
+    private int cyclesPerFrame(double speed) {
+        return (int) Math.max(1, Math.round(speed * 1000 / FrameScheduler.FRAME_RATE));
+    }
+
+    private void saveRecording(FileChooser fileChooser, InputLog log) {
+        File file = fileChooser.showSaveDialog(this);
+        if (file == null || log == null) return;
+        try {
+            log.save(file.toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
+    /**
+     * loads the rom from the start, only called on the emulation thread
+     * so nothing is running on the old executer or the display meanwhile
+     */
+    private void startRom(String rom, PixelManager pixels, Keys keys, Configs configs) {
+        this.executer = new Executer(rom, pixels, keys, configs);
+        executer.setSound(synth);
+        rewind.clear();
+        pixels.setResolutionMode(false);
+        clearDisplay(pixels);
+        // check here if its 64x64 rom for hires mode
+        executer.specialHires(pixels);
+        this.fileChosen = true;
+    }
+
+    private void clearDisplay(PixelManager pixels) {
+        pixels.setCurrentPlane(3);
+        pixels.clearDisplay();
+        pixels.setCurrentPlane(1);
+    }
+
     private BorderPane rightSide(Border border, VBox vBoxKeyboard, VBox vBoxForceOpcode, VBox vBoxStepControl) {
         BorderPane rightSide = new BorderPane();
         rightSide.setTop(vBoxKeyboard);
@@ -438,11 +565,17 @@ public class EmulatorUi extends Stage {
         programCounter.setText("Program counter: 0x" + Integer.toHexString((executer.getMemory().getPc() & 0xFFFF)).toUpperCase());
         delayTimer.setText("Delay Timer: 0x" + Integer.toHexString((executer.getMemory().getDelayTimer() & 0xFF)).toUpperCase());
         soundTimer.setText("Sound Timer: 0x" + Integer.toHexString((executer.getMemory().getSoundTimer() & 0xFF)).toUpperCase());
-        stackSize.setText("Stack size: " + executer.getMemory().getStack().size());
-        try {
-            stackPeek.setText("Stack peek: 0x" + Integer.toHexString(executer.getMemory().getStack().peek() & 0xFFFF).toUpperCase());
-        } catch (NullPointerException ignored) {
+        CallStack stack = executer.getMemory().getStack();
+        int size = stack.size();
+        stackSize.setText("Stack size: " + size);
+        if (size == 0) {
             stackPeek.setText("Stack peek: empty");
+        } else {
+            try {
+                stackPeek.setText("Stack peek: 0x" + Integer.toHexString(stack.get(0) & 0xFFFF).toUpperCase());
+            } catch (IndexOutOfBoundsException ignored) {
+                // emulation thread popped after the size was read, next pulse shows it
+            }
         }
         for (int i = 0; i < 16; i++) {
             registerLabels.get(i).setText(" V" + Integer.toHexString(i & 0xF).toUpperCase() + ": 0x" + Integer.toHexString((executer.getMemory().getV()[i] & 0xFF)).toUpperCase());
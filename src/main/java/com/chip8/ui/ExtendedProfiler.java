@@ -0,0 +1,84 @@
+package com.chip8.ui;
+
+import com.chip8.emulator.Profiler;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * live view of the profiler, opcode families, most executed addresses
+ * and time spent in draws and scrolls
+ */
+public class ExtendedProfiler extends Stage {
+
+    ExtendedProfiler(Profiler profiler) {
+        this.setTitle("Profiler");
+        UiElements uiElements = new UiElements();
+
+        Border border = new Border(new BorderStroke(Color.rgb(35, 255, 0),
+                BorderStrokeStyle.SOLID, CornerRadii.EMPTY, BorderWidths.DEFAULT));
+        Background bg = new Background(new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, Insets.EMPTY));
+        BorderPane root = new BorderPane();
+
+        Button reset = uiElements.makeButton("Reset counts");
+        BorderPane topPane = new BorderPane();
+        topPane.setPadding(new Insets(5, 5, 5, 5));
+        topPane.setBorder(border);
+        topPane.setCenter(reset);
+
+        ListView<String> families = new ListView<>();
+        families.getStylesheets().add("disassembler.css");
+        families.setPrefSize(250, 400);
+        ListView<String> hot = new ListView<>();
+        hot.getStylesheets().add("disassembler.css");
+        hot.setPrefSize(250, 400);
+
+        root.setTop(topPane);
+        root.setLeft(families);
+        root.setCenter(hot);
+        root.setBackground(bg);
+        root.setBorder(border);
+
+        // counts are written by the emulation thread, a reset may miss a few of them
+        reset.setOnAction(e -> profiler.reset());
+
+        this.setScene(new Scene(root, 500, 440));
+        this.show();
+
+        AnimationTimer screenUpdater = new AnimationTimer() {
+            private long updated;
+
+            @Override
+            public void handle(long l) {
+                // list views are slow to refill, four times a second is enough to read
+                if (l - updated < 250_000_000L) return;
+                this.updated = l;
+                long total = Math.max(1, profiler.getTotal());
+                families.getItems().clear();
+                for (int i = 0; i < 16; i++) {
+                    long count = profiler.getFamilyCount(i);
+                    families.getItems().add(String.format("%s: %d (%.1f%%)", Profiler.FAMILIES[i], count, count * 100.0 / total));
+                }
+                families.getItems().add(String.format("Draw: %d calls, %.3f ms", profiler.getDrawCalls(), profiler.getDrawNanos() / 1e6));
+                families.getItems().add(String.format("Scroll: %d calls, %.3f ms", profiler.getScrollCalls(), profiler.getScrollNanos() / 1e6));
+                hot.getItems().clear();
+                for (int pc : profiler.hottest(50)) {
+                    long count = profiler.getPcCount(pc);
+                    hot.getItems().add(String.format("0x%03X: %d (%.1f%%)", pc, count, count * 100.0 / total));
+                }
+            }
+        };
+
+        this.setOnCloseRequest(windowEvent -> {
+            screenUpdater.stop();
+            this.close();
+        });
+
+        screenUpdater.start();
+    }
+}
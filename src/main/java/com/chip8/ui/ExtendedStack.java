@@ -1,5 +1,6 @@
 package com.chip8.ui;
 
+import com.chip8.emulator.CallStack;
 import com.chip8.emulator.Executer;
 import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
@@ -38,17 +39,17 @@ public class ExtendedStack extends Stage {
             @Override
             public void handle(long l) {
                 listView.getItems().clear();
-                try {
-                    if (executer.getMemory().getStack().isEmpty()) {
-                        listView.getItems().add("Stack is empty!");
-                    } else {
-                        int k = 0;
-                        for (int i : executer.getMemory().getStack()) {
-                            listView.getItems().add("Index: " + k + " Contains: 0x" + Integer.toHexString(i).toUpperCase());
-                            k++;
+                CallStack stack = executer.getMemory().getStack();
+                if (stack.isEmpty()) {
+                    listView.getItems().add("Stack is empty!");
+                } else {
+                    try {
+                        for (int k = 0; k < stack.size(); k++) {
+                            listView.getItems().add("Index: " + k + " Contains: 0x" + Integer.toHexString(stack.get(k) & 0xFFFF).toUpperCase());
                         }
+                    } catch (IndexOutOfBoundsException ignored) {
+                        // emulation thread popped while the stack was being read
                     }
-                } catch (Exception ignored) {
                 }
             }
         };
@@ -1,13 +0,0 @@
-package com.chip8.ui;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-
-@Data
-@AllArgsConstructor
-public class FadePixel {
-
-    private Double fade;
-    private byte plane;
-
-}
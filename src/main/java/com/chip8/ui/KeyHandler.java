@@ -0,0 +1,52 @@
+package com.chip8.ui;
+
+import com.chip8.emulator.Keys;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.util.Arrays;
+
+/**
+ * passes javafx key events to the emulator keys
+ */
+public class KeyHandler {
+
+    private final Keys keys;
+    private final byte[] keypad = new byte[KeyCode.values().length]; // key 0 - F by key code ordinal, -1 if not bound
+    private String[] compiled; // binds the lookup was made from
+
+    /**
+     * @param keys keys used by the emulator
+     */
+    public KeyHandler(Keys keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * checks if the key is pressed or released and sets that key to correct state
+     *
+     * @param event keyEvent from javafx stage
+     */
+    public void setKey(KeyEvent event) {
+        boolean pressed = event.getEventType() == KeyEvent.KEY_PRESSED;
+        if (!pressed && event.getEventType() != KeyEvent.KEY_RELEASED) {
+            return;
+        }
+        // rebinding replaces the whole binds array, so a new array means new binds
+        if (keys.getBinds() != compiled) {
+            this.compile();
+        }
+        int key = keypad[event.getCode().ordinal()];
+        if (key >= 0) {
+            keys.setKey(key, pressed);
+        }
+    }
+
+    private void compile() {
+        this.compiled = keys.getBinds();
+        Arrays.fill(keypad, (byte) -1);
+        for (KeyCode code : KeyCode.values()) {
+            this.keypad[code.ordinal()] = (byte) keys.keyFor(code.getName());
+        }
+    }
+}
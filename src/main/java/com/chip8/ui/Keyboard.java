@@ -21,10 +21,10 @@ public class Keyboard extends KeyboardPane {
         for (int i = 0; i < 16; i++) {
             int pressedKey = Integer.parseInt(super.getButtons().get(i).getText(), 16);
             super.getButtons().get(i).setOnMousePressed(e -> {
-                super.getKeys().getKeys()[pressedKey] = true;
+                super.getKeys().setKey(pressedKey, true);
             });
             super.getButtons().get(i).setOnMouseReleased(e -> {
-                super.getKeys().getKeys()[pressedKey] = false;
+                super.getKeys().setKey(pressedKey, false);
             });
         }
     }
@@ -2,19 +2,20 @@ package com.chip8.ui;
 
 import com.chip8.configs.ColorSaver;
 import com.chip8.configs.DefaultValues;
-import com.chip8.emulator.PixelManager;
+import com.chip8.emulator.Frame;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.paint.Color;
 
-import java.util.HashMap;
+import java.util.Arrays;
+
 
 /**
  * creates the display where rom is drawn
  */
 public class RomDisplay extends Canvas {
 
-    private PixelManager pixels;
     private GraphicsContext painter;
     private int width;
     private int height;
@@ -25,14 +26,25 @@ public class RomDisplay extends Canvas {
     private String planeColor; // xo plane
     private String bothColor; // both planes overlap
     private boolean roundPixels;
-
-    public RomDisplay(PixelManager pixels, int width, int height) {
+    private Color bg; // parsed colors, updated when palette changes
+    private Color sprite;
+    private Color plane;
+    private Color both;
+    private int bgArgb;
+    private int spriteArgb;
+    private int planeArgb;
+    private int bothArgb;
+    private int[] composed; // 128x64 argb frame before scaling
+    private int[] scaled; // argb pixels of the whole canvas
+
+    public RomDisplay(int width, int height) {
         super(width, height);
-        this.pixels = pixels;
         this.painter = this.getGraphicsContext2D();
         this.width = width;
         this.height = height;
         this.scale = width / 128;
+        this.composed = new int[128 * 64];
+        this.scaled = new int[width * height];
         try {
             ColorSaver cs = new ColorSaver();
             this.spriteColor = cs.loadColor("spriteColor:");
@@ -48,81 +60,146 @@ public class RomDisplay extends Canvas {
             this.planeColor = new DefaultValues().getPlaneColor();
             this.roundPixels = new DefaultValues().isRoundPixels();
         }
+        this.parseColors();
         this.init();
     }
 
     /**
-     * calling this will render the rom display
+     * calling this will render the rom display, frame is composed
+     * into an argb buffer and written to the canvas at once
+     *
+     * @param frame display published by the emulation thread
      */
-    public void draw() {
-        painter.setFill(Color.web(bgColor));
-        painter.fillRect(0, 0, width, height);
-        if (fadeSelected) {
-            this.drawFading();
+    public void draw(Frame frame) {
+        int w = frame.isResolutionMode() ? 128 : 64;
+        int h = frame.isResolutionMode() ? 64 : 32;
+        this.compose(frame, w, h);
+        if (roundPixels) {
+            this.paintRound(w, h);
+            return;
         }
-        boolean[][][] display = pixels.getDisplay();
-        for (int x = 0; x < height / scale; x++) {
-            for (int y = 0; y < width / scale; y++) {
-                if (pixels.isXoMode() && display[y][x][0] && display[y][x][1]) {
-                    painter.setFill(Color.web(bothColor));
-                    paint(y, x);
-                } else if (pixels.isXoMode() && display[y][x][0]) {
-                    painter.setFill(Color.web(planeColor));
-                    paint(y, x);
-                } else if (display[y][x][1]) {
-                    painter.setFill(Color.web(spriteColor));
-                    paint(y, x);
+        // nearest neighbour scaling, every frame pixel becomes a block of canvas pixels
+        int size = width / w;
+        for (int y = 0; y < h; y++) {
+            int row = y * size * width;
+            for (int x = 0; x < w; x++) {
+                Arrays.fill(scaled, row + x * size, row + (x + 1) * size, composed[y * 128 + x]);
+            }
+            for (int i = 1; i < size; i++) {
+                System.arraycopy(scaled, row, scaled, row + i * width, width);
+            }
+        }
+        painter.getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbPreInstance(), scaled, 0, width);
+    }
+
+    private void compose(Frame frame, int w, int h) {
+        boolean xo = frame.isXoMode();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int color = bgArgb;
+                boolean xoPixel = xo && frame.getPixel(x, y, 0);
+                if (xoPixel && frame.getPixel(x, y, 1)) {
+                    color = bothArgb;
+                } else if (xoPixel) {
+                    color = planeArgb;
+                } else if (frame.getPixel(x, y, 1)) {
+                    color = spriteArgb;
                 }
+                this.composed[y * 128 + x] = color;
             }
         }
+        if (fadeSelected) {
+            this.composeFading(frame, w, h);
+        }
     }
 
-    private void drawFading() {
-        HashMap<Integer, HashMap<Integer, FadePixel>> fadeMap = pixels.getFadeMap();
-        for (int x = 0; x < fadeMap.size(); x++) {
-            for (int y = 0; y < fadeMap.get(x).size(); y++) {
-                if (fadeMap.get(x).get(y).getFade() > 0.0) {
-                    double fading = Math.min(0.95, fadeMap.get(x).get(y).getFade());
-                    int plane = fadeMap.get(x).get(y).getPlane();
-                    Color color = Color.web(spriteColor, fading);
-                    if (plane == 2) {
-                        color = Color.web(planeColor, fading);
-                    } else if (plane == 3) {
-                        color = Color.web(bothColor, fading);
-                    }
-                    painter.setFill(color);
-                    paint(x, y);
-                }
+    private void composeFading(Frame frame, int w, int h) {
+        float[] levels = frame.getFadeLevel();
+        byte[] planes = frame.getFadePlane();
+        int[] fading = frame.getFading();
+        for (int i = 0; i < frame.getFadingCount(); i++) {
+            int pixel = fading[i];
+            int x = pixel & 127;
+            int y = pixel >> 7;
+            // lit pixels are drawn over the fade
+            if (x >= w || y >= h || composed[pixel] != bgArgb) {
+                continue;
+            }
+            int color = spriteArgb;
+            if (planes[pixel] == 2) {
+                color = planeArgb;
+            } else if (planes[pixel] == 3) {
+                color = bothArgb;
             }
+            this.composed[pixel] = blend(bgArgb, color, Math.min(0.95f, levels[pixel]));
         }
     }
 
-    private void paint(int x, int y) {
-        int scaled = scale;
-        if (!pixels.isResolutionMode()) {
-            scaled *= 2;
-        }
-        if (roundPixels) {
-            painter.fillOval(x * scaled, y * scaled, scaled, scaled);
-        } else {
-            painter.fillRect(x * scaled, y * scaled, scaled, scaled);
+    private void paintRound(int w, int h) {
+        int size = width / w;
+        painter.setFill(bg);
+        painter.fillRect(0, 0, width, height);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int color = composed[y * 128 + x];
+                if (color == bgArgb) {
+                    continue;
+                } else if (color == spriteArgb) {
+                    painter.setFill(sprite);
+                } else if (color == planeArgb) {
+                    painter.setFill(plane);
+                } else if (color == bothArgb) {
+                    painter.setFill(both);
+                } else {
+                    // fading pixel
+                    painter.setFill(Color.rgb((color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF));
+                }
+                painter.fillOval(x * size, y * size, size, size);
+            }
         }
     }
 
+    private static int argb(Color c) {
+        return 0xFF000000 | (int) Math.round(c.getRed() * 255) << 16
+                | (int) Math.round(c.getGreen() * 255) << 8 | (int) Math.round(c.getBlue() * 255);
+    }
+
+    /**
+     * same result as painting color with alpha of level over the background
+     */
+    private static int blend(int bg, int color, float level) {
+        int r = (int) (((bg >> 16) & 0xFF) * (1 - level) + ((color >> 16) & 0xFF) * level);
+        int g = (int) (((bg >> 8) & 0xFF) * (1 - level) + ((color >> 8) & 0xFF) * level);
+        int b = (int) ((bg & 0xFF) * (1 - level) + (color & 0xFF) * level);
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+
+    private void parseColors() {
+        this.bg = Color.web(bgColor);
+        this.sprite = Color.web(spriteColor);
+        this.plane = Color.web(planeColor);
+        this.both = Color.web(bothColor);
+        this.bgArgb = argb(bg);
+        this.spriteArgb = argb(sprite);
+        this.planeArgb = argb(plane);
+        this.bothArgb = argb(both);
+    }
+
     /**
      * writes warning to display about disabled ui updates
      */
     public void uiUpdatesDisabled() {
-        painter.setFill(Color.web(bgColor));
+        painter.setFill(bg);
         painter.fillRect(0, 0, width, height);
-        painter.setFill(Color.web(spriteColor));
+        painter.setFill(sprite);
         painter.fillText("Ui updates have been disabled\nenable them in options menu", 50, 50);
     }
 
     private void init() {
-        painter.setFill(Color.web(bgColor));
+        painter.setFill(bg);
         painter.fillRect(0, 0, width, height);
-        painter.setFill(Color.web(spriteColor));
+        painter.setFill(sprite);
         painter.fillText("Welcome to CHIP-36 Emulator.\n\nSelect ROM to start.\n\n" +
                 "Emulator supports CHIP-8, S-CHIP and XO-CHIP ROM's.\n" +
                 "ROM not working? Try adjusting quirks in settings.\n\n" +
@@ -136,18 +213,22 @@ public class RomDisplay extends Canvas {
 
     public void setBgColor(String bgColor) {
         this.bgColor = bgColor;
+        this.parseColors();
     }
 
     public void setSpriteColor(String spriteColor) {
         this.spriteColor = spriteColor;
+        this.parseColors();
     }
 
     public void setPlaneColor(String planeColor) {
         this.planeColor = planeColor;
+        this.parseColors();
     }
 
     public void setBothColor(String bothColor) {
         this.bothColor = bothColor;
+        this.parseColors();
     }
 
     public String getBgColor() {
@@ -7,6 +7,7 @@ import org.junit.*;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.junit.Assert.*;
 
@@ -35,6 +36,8 @@ public class FileSavingTest {
         File file = new File("chip8-configs.txt");
         file.delete();
         file.deleteOnExit();
+        // forget the saved test values too
+        ConfigStore.get().reload();
     }
 
     @Test
@@ -56,4 +59,57 @@ public class FileSavingTest {
         assertFalse(configsSaver.loadState("roundPixels:"));
         assertEquals("*", configsSaver.loadSymbol());
     }
+
+    @Test
+    public void savingOneSectionKeepsOthers() throws IOException {
+        // keybinds used to truncate the whole file
+        String[] binds = new Keys().getBinds().clone();
+        binds[0] = "P";
+        keybindSaver.save(binds);
+        ConfigStore.get().reload();
+        assertEquals("P", keybindSaver.load()[0]);
+        assertEquals("0x000000ff", colorSaver.loadColor("bgColor:"));
+        assertEquals("*", configsSaver.loadSymbol());
+    }
+
+    @Test
+    public void readsOldLayout() throws IOException {
+        File old = File.createTempFile("chip8-configs", ".txt");
+        old.deleteOnExit();
+        StringBuilder sb = new StringBuilder();
+        for (char c : new DefaultValues().getRebindLayout().toCharArray()) {
+            sb.append(c).append('\n');
+        }
+        sb.append("bgColor:\n0x112233ff\nquirkJump:\ntrue\nblurValue:\n0.5\n");
+        Files.write(old.toPath(), sb.toString().getBytes());
+        ConfigStore store = new ConfigStore(old.toPath());
+        assertTrue(store.isLoaded());
+        assertEquals("Q", store.getBinds()[4]);
+        assertEquals("0x112233ff", store.getString("bgColor:"));
+        assertTrue(store.getBoolean("quirkJump:"));
+        assertEquals(0.5, store.getDouble("blurValue:"), 0);
+        assertFalse(store.getBoolean("quirkShift:"));
+
+        // saved file reads back the same
+        store.set("quirkShift:", true);
+        store.save();
+        ConfigStore reread = new ConfigStore(old.toPath());
+        assertArrayEquals(store.getBinds(), reread.getBinds());
+        assertTrue(reread.getBoolean("quirkShift:"));
+        assertEquals("0x112233ff", reread.getString("bgColor:"));
+    }
+
+    @Test
+    public void missingFile() {
+        ConfigStore store = new ConfigStore(new File("noFileHere").toPath());
+        assertFalse(store.isLoaded());
+        assertNull(store.getBinds());
+    }
+
+    @Test
+    public void defaultConfigsIgnoreFile() {
+        // saved symbol is "*", default is "#"
+        assertEquals("*", new Configs().getPrintSymbol());
+        assertEquals(new DefaultValues().getPrintSymbol(), new Configs(new DefaultValues()).getPrintSymbol());
+    }
 }
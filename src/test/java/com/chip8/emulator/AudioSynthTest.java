@@ -0,0 +1,71 @@
+package com.chip8.emulator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AudioSynthTest {
+
+    private AudioRing ring;
+    private AudioSynth synth;
+    private Memory m;
+
+    @Before
+    public void setUp() {
+        this.ring = new AudioRing(4096);
+        this.synth = new AudioSynth(ring);
+        this.m = new Memory();
+    }
+
+    @Test
+    public void silentWithoutSoundTimer() {
+        synth.tick(m);
+        assertEquals(0, ring.available());
+    }
+
+    @Test
+    public void oneTickOfSamples() {
+        m.setSoundTimer((byte) 2);
+        // pattern with every bit on plays as constant high
+        m.setAudio(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1});
+        synth.tick(m);
+        assertEquals(AudioSynth.SAMPLE_RATE / 60, ring.available());
+        byte[] samples = new byte[1000];
+        int n = ring.read(samples, samples.length);
+        assertEquals(735, n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(samples[i] > 0);
+        }
+        assertEquals(0, ring.available());
+    }
+
+    @Test
+    public void patternIsPlayedAtPitch() {
+        m.setSoundTimer((byte) 1);
+        // first half of the pattern on, second half off
+        byte[] pattern = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            pattern[i] = -1;
+        }
+        m.setAudio(pattern);
+        // pitch 64 plays 4000 bits per second, 64 bits take 16 ms = 705.6 samples
+        synth.tick(m);
+        byte[] samples = new byte[735];
+        ring.read(samples, samples.length);
+        assertTrue(samples[700] > 0);
+        assertTrue(samples[710] < 0);
+    }
+
+    @Test
+    public void fullRingDropsSamples() {
+        AudioRing small = new AudioRing(8);
+        assertEquals(8, small.write(new byte[20], 20));
+        assertEquals(0, small.write(new byte[1], 1));
+        byte[] out = new byte[5];
+        assertEquals(5, small.read(out, 5));
+        // ring wraps around
+        assertEquals(5, small.write(new byte[]{1, 2, 3, 4, 5, 6}, 6));
+        assertEquals(8, small.available());
+    }
+}
@@ -0,0 +1,52 @@
+package com.chip8.emulator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CallStackTest {
+
+    @Test
+    public void pushPopInOrder() {
+        CallStack stack = new CallStack(16);
+        stack.push((short) 0x202);
+        stack.push((short) 0x304);
+        stack.push((short) 0xFFFE);
+        assertEquals(3, stack.size());
+        assertEquals((short) 0xFFFE, stack.peek());
+        // index 0 is the top
+        assertEquals((short) 0xFFFE, stack.get(0));
+        assertEquals(0x202, stack.get(2));
+        assertEquals((short) 0xFFFE, stack.pop());
+        assertEquals(0x304, stack.pop());
+        assertEquals(0x202, stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void overflowAndUnderflow() {
+        CallStack stack = new CallStack(16);
+        for (int i = 0; i < 16; i++) {
+            stack.push((short) i);
+        }
+        try {
+            stack.push((short) 16);
+            fail();
+        } catch (StackFault fault) {
+            assertTrue(fault.isOverflow());
+        }
+        assertEquals(16, stack.size());
+        stack.clear();
+        try {
+            stack.pop();
+            fail();
+        } catch (StackFault fault) {
+            assertFalse(fault.isOverflow());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void depthHasToBePositive() {
+        new CallStack(0);
+    }
+}
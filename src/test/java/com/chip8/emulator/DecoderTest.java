@@ -507,7 +507,8 @@ public class DecoderTest {
         ram[0x301] = (byte) 0x9E;
         m.setRam(ram);
 
-        keys.getKeys()[0xF] = true; // simulate F key pressed
+        keys.setKey(0xF, true); // simulate F key pressed
+        keys.latch();
         m.varReg(4, 0xF); // set F key in V4
 
         fetcher.fetch();
@@ -539,7 +540,8 @@ public class DecoderTest {
         ram[0x301] = (byte) 0xA1;
         m.setRam(ram);
 
-        keys.getKeys()[0xF] = true; // simulate F key pressed
+        keys.setKey(0xF, true); // simulate F key pressed
+        keys.latch();
         m.varReg(4, 0xF); // set F key in V4
 
         fetcher.fetch();
@@ -583,7 +585,8 @@ public class DecoderTest {
         // still in same instruction
         assertEquals(0x300, m.getPc());
 
-        keys.getKeys()[0xC] = true; // simulate C key pressed
+        keys.setKey(0xC, true); // simulate C key pressed
+        keys.latch();
         fetcher.fetch();
         decoder.decode(fetcher.getOpcode());
         // since now, we have a keypress C button
@@ -608,7 +611,7 @@ public class DecoderTest {
         // set index register to sprite data location
         m.setI((short) 0x300);
         // display should be clear at 0x0
-        assertFalse(decoder.getPixels().getDisplay()[0][0][1]);
+        assertFalse(decoder.getPixels().getPixel(0, 0, 1));
         // instruction with sprite height of 2
         decoder.decode((short) 0xD012);
         // we drew on empty screen, so VF should still be 0
@@ -617,23 +620,23 @@ public class DecoderTest {
         // *******
         //    **
         // we can test that each of these pixels is on or off:
-        assertTrue(decoder.getPixels().getDisplay()[0][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[1][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[2][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[3][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[4][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[5][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[6][0][1]);
-        assertFalse(decoder.getPixels().getDisplay()[7][0][1]);
-
-        assertFalse(decoder.getPixels().getDisplay()[0][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[1][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[2][1][1]);
-        assertTrue(decoder.getPixels().getDisplay()[3][1][1]);
-        assertTrue(decoder.getPixels().getDisplay()[4][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[5][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[6][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[7][1][1]);
+        assertTrue(decoder.getPixels().getPixel(0, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(1, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(2, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(3, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(4, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(5, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(6, 0, 1));
+        assertFalse(decoder.getPixels().getPixel(7, 0, 1));
+
+        assertFalse(decoder.getPixels().getPixel(0, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(1, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(2, 1, 1));
+        assertTrue(decoder.getPixels().getPixel(3, 1, 1));
+        assertTrue(decoder.getPixels().getPixel(4, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(5, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(6, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(7, 1, 1));
 
         // now we want to change the drawn sprite
         // to look like this:
@@ -646,23 +649,23 @@ public class DecoderTest {
         // this time we erased some pixels, so VF should be 1
         assertEquals(1, m.getV()[0XF]);
         // then we can again check each pixel one by one
-        assertTrue(decoder.getPixels().getDisplay()[0][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[1][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[2][0][1]);
-        assertFalse(decoder.getPixels().getDisplay()[3][0][1]);
-        assertFalse(decoder.getPixels().getDisplay()[4][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[5][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[6][0][1]);
-        assertTrue(decoder.getPixels().getDisplay()[7][0][1]);
-
-        assertTrue(decoder.getPixels().getDisplay()[0][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[1][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[2][1][1]);
-        assertTrue(decoder.getPixels().getDisplay()[3][1][1]);
-        assertTrue(decoder.getPixels().getDisplay()[4][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[5][1][1]);
-        assertFalse(decoder.getPixels().getDisplay()[6][1][1]);
-        assertTrue(decoder.getPixels().getDisplay()[7][1][1]);
+        assertTrue(decoder.getPixels().getPixel(0, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(1, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(2, 0, 1));
+        assertFalse(decoder.getPixels().getPixel(3, 0, 1));
+        assertFalse(decoder.getPixels().getPixel(4, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(5, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(6, 0, 1));
+        assertTrue(decoder.getPixels().getPixel(7, 0, 1));
+
+        assertTrue(decoder.getPixels().getPixel(0, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(1, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(2, 1, 1));
+        assertTrue(decoder.getPixels().getPixel(3, 1, 1));
+        assertTrue(decoder.getPixels().getPixel(4, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(5, 1, 1));
+        assertFalse(decoder.getPixels().getPixel(6, 1, 1));
+        assertTrue(decoder.getPixels().getPixel(7, 1, 1));
 
         // finally we can test clear screen instruction 00E0:
         decoder.decode((short) 0x00E0);
@@ -670,7 +673,7 @@ public class DecoderTest {
         // every pixel on the screen that they are off
         for (int i = 0; i < 64; i++) {
             for (int j = 0; j < 32; j++) {
-                assertFalse(decoder.getPixels().getDisplay()[i][j][1]);
+                assertFalse(decoder.getPixels().getPixel(i, j, 1));
             }
         }
     }
@@ -900,4 +903,50 @@ public class DecoderTest {
         // so fetcher doesn't fetch it
         assertEquals(0x202, m.getPc());
     }
+
+    @Test
+    public void unknownOpcode() {
+        // opcodes that are not in any instruction set should do nothing
+        m.varReg(0, 0x12);
+        decoder.decode((short) 0x5AB1);
+        decoder.decode((short) 0xE0FF);
+        decoder.decode((short) 0x0123);
+        assertEquals(0x12, m.getV()[0]);
+        assertEquals(0x200, m.getPc());
+        assertEquals(0, m.getI());
+    }
+
+    @Test
+    public void detailsAreFromLastReportingInstruction() {
+        m.varReg(0xA, 0x30);
+        m.varReg(0xB, 0x10);
+        decoder.decode((short) 0x8AB5);
+        assertEquals("Subtract V[A] = V[A] - V[B]\n0x30 - 0x10 = 0x20\nIf V[A] (0x30) > V[B] (0x10)" +
+                "\nThen set VF to 1, VF set to 1: true", decoder.getDetailed());
+        // unknown opcode doesn't report anything so text stays the same
+        decoder.decode((short) 0x5AB9);
+        assertEquals("Subtract V[A] = V[A] - V[B]\n0x30 - 0x10 = 0x20\nIf V[A] (0x30) > V[B] (0x10)" +
+                "\nThen set VF to 1, VF set to 1: true", decoder.getDetailed());
+        decoder.decode((short) 0x00C6);
+        assertEquals("Scrolls display down by 3 pixels.\nLow resolution mode\nSuper-Chip extended instruction", decoder.getDetailed());
+    }
+
+    @Test
+    public void callWithFullStackFaults() {
+        Memory small = new Memory(2);
+        Decoder decoder = new Decoder(small, new Fetcher(small), new PixelManager(128, 64), keys, new Configs());
+        decoder.decode((short) 0x2300);
+        decoder.decode((short) 0x2400);
+        assertNull(decoder.getFault());
+        decoder.decode((short) 0x2500);
+        // third call doesn't fit, it is skipped
+        assertEquals(2, small.getStack().size());
+        assertEquals(0x400, small.getPc());
+        assertTrue(decoder.getFault().isOverflow());
+        assertEquals("Error:\n2NNN instruction, but stack is full!\nAll 2 entries are in use.", decoder.getDetailed());
+        decoder.decode((short) 0x00EE);
+        decoder.decode((short) 0x00EE);
+        decoder.decode((short) 0x00EE);
+        assertFalse(decoder.getFault().isOverflow());
+    }
 }
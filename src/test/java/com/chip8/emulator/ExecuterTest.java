@@ -55,4 +55,103 @@ public class ExecuterTest {
         executer.forceOpcode(0x1DDD);
         assertEquals(0xDDD, executer.getMemory().getPc());
     }
+
+    @Test
+    public void selfModifyingCode() {
+        // execute 6001 at 0x200 so it gets predecoded
+        executer.getMemory().initializeMemory((short) 0x200, (byte) 0x60);
+        executer.getMemory().initializeMemory((short) 0x201, (byte) 0x01);
+        executer.execute();
+        assertEquals(1, executer.getMemory().getV()[0]);
+        // overwrite the instruction with 6007 using FX55
+        executer.forceOpcode(0x6060);
+        executer.forceOpcode(0x6107);
+        executer.forceOpcode(0xA200);
+        executer.forceOpcode(0xF155);
+        // run it again, new instruction should be executed
+        executer.getMemory().setPc((short) 0x200);
+        executer.execute();
+        assertEquals(7, executer.getMemory().getV()[0]);
+    }
+
+    @Test
+    public void blockExecution() {
+        // 6005, 7003, 6103, 1200 -- block ends at the jump
+        byte[] program = {0x60, 0x05, 0x70, 0x03, 0x61, 0x03, 0x12, 0x02};
+        for (int i = 0; i < program.length; i++) {
+            executer.getMemory().initializeMemory((short) (0x200 + i), program[i]);
+        }
+        assertEquals(4, executer.executeBlock());
+        assertEquals(8, executer.getMemory().getV()[0]);
+        assertEquals(3, executer.getMemory().getV()[1]);
+        assertEquals(0x202, executer.getMemory().getPc());
+        assertEquals(0x1202, executer.getFetcher().getOpcode());
+        // next block starts from the jump target
+        assertEquals(3, executer.executeBlock());
+        assertEquals(11, executer.getMemory().getV()[0]);
+    }
+
+    @Test
+    public void blockInvalidatedOnWrite() {
+        // 6001, 1200 compiled as a block
+        byte[] program = {0x60, 0x01, 0x12, 0x00};
+        for (int i = 0; i < program.length; i++) {
+            executer.getMemory().initializeMemory((short) (0x200 + i), program[i]);
+        }
+        executer.executeBlock();
+        assertEquals(1, executer.getMemory().getV()[0]);
+        // change first instruction to 6009
+        executer.getMemory().initializeMemory((short) 0x201, (byte) 0x09);
+        executer.executeBlock();
+        assertEquals(9, executer.getMemory().getV()[0]);
+    }
+
+    @Test
+    public void loopedBlock() {
+        // 7001, 8014, 1200 -- same compiled block is run over and over
+        byte[] program = {0x70, 0x01, (byte) 0x80, 0x14, 0x12, 0x00};
+        for (int i = 0; i < program.length; i++) {
+            executer.getMemory().initializeMemory((short) (0x200 + i), program[i]);
+        }
+        executer.getMemory().varReg(1, 1);
+        for (int i = 0; i < 1500; i++) {
+            executer.executeBlock();
+        }
+        // each round adds 2, 1500 rounds wraps around the 8-bit register
+        assertEquals((byte) 3000, executer.getMemory().getV()[0]);
+        assertEquals(0x200, executer.getMemory().getPc());
+        assertEquals(0x1200, executer.getFetcher().getOpcode());
+    }
+
+    @Test
+    public void frame() {
+        // 7001, 1200 loop, timers tick once after the instructions
+        byte[] program = {0x70, 0x01, 0x12, 0x00};
+        for (int i = 0; i < program.length; i++) {
+            executer.getMemory().initializeMemory((short) (0x200 + i), program[i]);
+        }
+        executer.getMemory().setDelayTimer((byte) 10);
+        executer.frame(20);
+        executer.frame(20);
+        assertEquals(20, executer.getMemory().getV()[0]);
+        assertEquals(8, executer.getMemory().getDelayTimer());
+    }
+
+    @Test
+    public void blockFrameStopsAtCycles() {
+        // 7001, 7001, 7001, 1200 -- frame of 6 ends in the middle of the second run of the block
+        byte[] program = {0x70, 0x01, 0x70, 0x01, 0x70, 0x01, 0x12, 0x00};
+        for (int i = 0; i < program.length; i++) {
+            executer.getMemory().initializeMemory((short) (0x200 + i), program[i]);
+        }
+        executer.setBlockExecution(true);
+        executer.frame(6);
+        assertEquals(5, executer.getMemory().getV()[0]);
+        assertEquals(0x204, executer.getMemory().getPc());
+        assertEquals(0x7001, executer.getFetcher().getOpcode());
+        // rest of the block runs on the next frame
+        executer.frame(2);
+        assertEquals(0x200, executer.getMemory().getPc());
+        assertEquals(6, executer.getMemory().getV()[0]);
+    }
 }
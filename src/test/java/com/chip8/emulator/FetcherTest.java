@@ -62,20 +62,17 @@ public class FetcherTest {
         // timers to 2
         m.setDelayTimer((byte) 0x2);
         m.setSoundTimer((byte) 0x2);
-        // decrement by 1, should be 1 now
+        // one tick per frame, should be 1 now
         fetcher.timerDecrement();
         assertEquals(0x1, m.getDelayTimer());
         assertEquals(0x1, m.getSoundTimer());
-        // decrement right away again, should still be 1 because 60 hz timer
-        fetcher.timerDecrement();
+        // fetching does not touch timers anymore
+        fetcher.fetch();
         assertEquals(0x1, m.getDelayTimer());
-        assertEquals(0x1, m.getSoundTimer());
-        // wait for a while
-        try {
-            Thread.sleep(19);
-        } catch (InterruptedException ignored) {
-        }
-        // now should be 1
+        fetcher.timerDecrement();
+        assertEquals(0x0, m.getDelayTimer());
+        assertEquals(0x0, m.getSoundTimer());
+        // timers stop at zero
         fetcher.timerDecrement();
         assertEquals(0x0, m.getDelayTimer());
         assertEquals(0x0, m.getSoundTimer());
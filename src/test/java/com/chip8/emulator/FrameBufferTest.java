@@ -0,0 +1,65 @@
+package com.chip8.emulator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameBufferTest {
+
+    private FrameBuffer frames;
+    private PixelManager pixels;
+
+    @Before
+    public void setUp() {
+        this.frames = new FrameBuffer();
+        this.pixels = new PixelManager(128, 64);
+        pixels.setFade(false);
+    }
+
+    @Test
+    public void latestFrameWins() {
+        pixels.draw(1, 1, 1);
+        frames.publish(pixels);
+        pixels.draw(2, 2, 1);
+        pixels.setResolutionMode(true);
+        frames.publish(pixels);
+        // only newest frame is seen, older one was overwritten
+        Frame frame = frames.latest();
+        assertTrue(frame.getPixel(1, 1, 1));
+        assertTrue(frame.getPixel(2, 2, 1));
+        assertTrue(frame.isResolutionMode());
+    }
+
+    @Test
+    public void sameFrameUntilNextPublish() {
+        pixels.draw(5, 5, 1);
+        frames.publish(pixels);
+        Frame frame = frames.latest();
+        // changes are not visible before they are published
+        pixels.draw(6, 6, 1);
+        assertSame(frame, frames.latest());
+        assertFalse(frame.getPixel(6, 6, 1));
+        frames.publish(pixels);
+        assertTrue(frames.latest().getPixel(6, 6, 1));
+        assertTrue(frame.getPixel(5, 5, 1));
+    }
+
+    @Test
+    public void fadeIsPublished() {
+        pixels.setFade(true);
+        pixels.setFadeSpeed(0.05);
+        pixels.draw(3, 4, 1);
+        pixels.draw(3, 4, 1);
+        frames.publish(pixels);
+        Frame frame = frames.latest();
+        // fading after publishing doesn't change the frame the ui has
+        pixels.fade();
+        assertEquals(1, frame.getFadingCount());
+        assertEquals(4 * 128 + 3, frame.getFading()[0]);
+        assertEquals(0.95, frame.getFadeLevel()[4 * 128 + 3], 0.01);
+        assertEquals(1, frame.getFadePlane()[4 * 128 + 3]);
+        frames.publish(pixels);
+        assertEquals(0.90, frames.latest().getFadeLevel()[4 * 128 + 3], 0.01);
+    }
+}
@@ -0,0 +1,67 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameSchedulerTest {
+
+    @Test
+    public void sixtyFramesPerSecond() {
+        FrameScheduler scheduler = new FrameScheduler(10);
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            scheduler.waitForNextFrame();
+        }
+        // six frames take a tenth of a second
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsed >= 99);
+        assertTrue(elapsed < 500);
+    }
+
+    @Test
+    public void lateFrameIsMadeUp() throws InterruptedException {
+        FrameScheduler scheduler = new FrameScheduler(10);
+        long start = System.nanoTime();
+        // first frame takes 25 ms, next one only waits for what is left
+        Thread.sleep(25);
+        scheduler.waitForNextFrame();
+        scheduler.waitForNextFrame();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsed >= 33);
+        assertTrue(elapsed < 200);
+    }
+
+    @Test
+    public void turboDoesNotWait() {
+        FrameScheduler scheduler = new FrameScheduler(10);
+        Executer executer = new HeadlessRunner("roms/IBM", new Configs()).getExecuter();
+        scheduler.setTurbo(true);
+        long start = System.nanoTime();
+        for (int i = 0; i < 60; i++) {
+            scheduler.runFrame(executer);
+            scheduler.waitForNextFrame();
+        }
+        // a second worth of frames runs well under a second
+        assertTrue(System.nanoTime() - start < 500_000_000L);
+        assertEquals(600, scheduler.getInstructions());
+    }
+
+    @Test
+    public void turboRunsFramesForOneFrameOfTime() {
+        FrameScheduler scheduler = new FrameScheduler(30);
+        Executer executer = new HeadlessRunner("roms/IBM", new Configs()).getExecuter();
+        InputLog log = new InputLog(0);
+        assertEquals(1, scheduler.runFrames(executer, log, 0));
+        scheduler.setTurbo(true);
+        long start = System.nanoTime();
+        int frames = scheduler.runFrames(executer, log, 0);
+        long elapsed = System.nanoTime() - start;
+        // many frames fit in 1/60 s and every one of them is recorded
+        assertTrue(frames > 1);
+        assertTrue(elapsed >= 1_000_000_000L / FrameScheduler.FRAME_RATE);
+        assertEquals(frames + 1, log.getLength());
+        assertEquals(frames + 1, executer.getFrameCount());
+    }
+}
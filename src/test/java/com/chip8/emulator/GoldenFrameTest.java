@@ -0,0 +1,125 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import com.chip8.configs.DefaultValues;
+import com.chip8.configs.QuirkProfile;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * runs the bundled roms with scripted input and a fixed seed and compares
+ * display hashes at checkpoint frames to known good ones. every rom is run both
+ * one instruction at a time and through compiled blocks, both have to match.
+ * time of every run is written to target/golden-timings.csv, so speed changes
+ * can be checked from the same run
+ */
+public class GoldenFrameTest {
+
+    private static final long SEED = 0x36;
+    private static final int CYCLES = 30; // instructions per frame
+    private static final long[] CHECKPOINTS = {1, 10, 60, 300, 600};
+    private static final long MAX_NANOS = 5_000_000_000L; // only catches something badly broken
+    private static final Path TIMINGS = Paths.get("target", "golden-timings.csv");
+
+    @BeforeClass
+    public static void startTimings() throws IOException {
+        Files.createDirectories(TIMINGS.getParent());
+        Files.write(TIMINGS, "rom,engine,instructions,ms\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param rom         rom file in the roms directory
+     * @param profile     quirks the rom is made for
+     * @param script      pairs of frame and pressed keys mask
+     * @param checkpoints display hashes expected at the checkpoint frames
+     */
+    private void golden(String rom, QuirkProfile profile, int[] script, long... checkpoints) throws IOException {
+        golden(rom, profile, script, false, checkpoints);
+        golden(rom, profile, script, true, checkpoints);
+    }
+
+    private void golden(String rom, QuirkProfile profile, int[] script, boolean blocks, long... checkpoints) throws IOException {
+        Configs configs = new Configs(new DefaultValues());
+        configs.setBlockExecution(blocks);
+        configs.setPrintToConsole(false);
+        profile.apply(configs);
+        InputLog log = new InputLog(SEED);
+        for (int frame = 0, i = 0; frame < CHECKPOINTS[CHECKPOINTS.length - 1]; frame++) {
+            while (i + 2 < script.length && script[i + 2] <= frame) {
+                i += 2;
+            }
+            log.record(frame, script.length == 0 || script[0] > frame ? 0 : script[i + 1], CYCLES);
+        }
+        HeadlessRunner runner = new HeadlessRunner("roms/" + rom, configs);
+        runner.getExecuter().seed(log.getSeed());
+        long[] hashes = new long[CHECKPOINTS.length];
+        for (int i = 0; i < CHECKPOINTS.length; i++) {
+            runner.replayUntil(log, CHECKPOINTS[i]);
+            hashes[i] = runner.getPixels().displayHash();
+        }
+        String timing = String.format(Locale.ROOT, "\"%s\",%s,%d,%.2f%n", rom, blocks ? "blocks" : "step",
+                runner.getInstructions(), runner.getNanos() / 1e6);
+        Files.write(TIMINGS, timing.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertTrue(rom + " took " + runner.getNanos() / 1e6 + " ms", runner.getNanos() < MAX_NANOS);
+        StringBuilder actual = new StringBuilder();
+        for (long hash : hashes) {
+            actual.append(String.format("0x%016xL, ", hash));
+        }
+        for (int i = 0; i < CHECKPOINTS.length; i++) {
+            // message has all hashes of the run, so goldens are easy to update after an intended change
+            assertEquals(rom + (blocks ? " with blocks" : "") + " at frame " + CHECKPOINTS[i] + ", got " + actual, checkpoints[i], hashes[i]);
+        }
+    }
+
+    private static int key(int... keys) {
+        int mask = 0;
+        for (int k : keys) {
+            mask |= 1 << k;
+        }
+        return mask;
+    }
+
+    @Test
+    public void ibm() throws IOException {
+        golden("IBM", QuirkProfile.CHIP8, new int[0],
+                0x5b988aa13dae6f69L, 0x5b988aa13dae6f69L, 0x5b988aa13dae6f69L, 0x5b988aa13dae6f69L, 0x5b988aa13dae6f69L);
+    }
+
+    @Test
+    public void pong() throws IOException {
+        // left paddle up, then down, right paddle up
+        golden("Pong [Paul Vervalin, 1990].ch8", QuirkProfile.CHIP8,
+                new int[]{30, key(1), 90, 0, 120, key(4), 200, key(0xC), 260, 0},
+                0xda504d3d5ea100e9L, 0xda504d3d5ea100e9L, 0xda504d3d5ea100e9L, 0x3b57b3df238e71c9L, 0xbb4098c85dd1f8d7L);
+    }
+
+    @Test
+    public void spaceInvaders() throws IOException {
+        // start the game, move left while shooting, then right
+        golden("Space Invaders [David Winter].ch8", QuirkProfile.CHIP8,
+                new int[]{40, key(5), 50, 0, 200, key(4, 5), 320, key(6), 420, key(5), 440, 0},
+                0xc9465fc19bac3256L, 0x6c0c83eaae46a88eL, 0x6309a76cabea1d4dL, 0x8d57575a1a834c12L, 0x0a6d20e0f9d961d5L);
+    }
+
+    @Test
+    public void particleDemo() throws IOException {
+        golden("Particle Demo [zeroZshadow, 2008].ch8", QuirkProfile.CHIP8, new int[0],
+                0xbb7fad7ed1ea9d53L, 0xac9d979a133fefddL, 0xa2218ad75f5dc817L, 0x9b0a06123e2cd41fL, 0xad1f3f808d6a3b88L);
+    }
+
+    @Test
+    public void trip8() throws IOException {
+        golden("Trip8 Demo (2008) [Revival Studios].ch8", QuirkProfile.SCHIP, new int[0],
+                0x9c1bda7f8c872325L, 0x9c1bda7f8c872325L, 0x775235d333b7a932L, 0x451fd366aa90503aL, 0x747f866eb404164eL);
+    }
+}
@@ -0,0 +1,55 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class HeadlessRunnerTest {
+
+    @Test
+    public void sameRunSameHash() {
+        // ibm logo rom draws the logo and then loops forever
+        HeadlessRunner first = new HeadlessRunner("roms/IBM", new Configs());
+        HeadlessRunner second = new HeadlessRunner("roms/IBM", new Configs());
+        first.run(500);
+        second.run(500);
+        assertEquals(500, first.getInstructions());
+        assertEquals(first.getPixels().displayHash(), second.getPixels().displayHash());
+        // logo has been drawn so display is not empty anymore
+        assertNotEquals(new PixelManager(128, 64).displayHash(), first.getPixels().displayHash());
+    }
+
+    @Test
+    public void partialFrames() {
+        Configs configs = new Configs();
+        configs.setCyclesPerFrame(30);
+        HeadlessRunner runner = new HeadlessRunner("roms/IBM", configs);
+        runner.getExecuter().getMemory().setDelayTimer((byte) 10);
+        runner.run(45);
+        // one whole frame, second one is still open
+        assertEquals(1, runner.getExecuter().getFrameCount());
+        assertEquals(9, runner.getExecuter().getMemory().getDelayTimer());
+        runner.run(15);
+        assertEquals(2, runner.getExecuter().getFrameCount());
+        assertEquals(8, runner.getExecuter().getMemory().getDelayTimer());
+        runner.runFrames(3);
+        assertEquals(5, runner.getExecuter().getFrameCount());
+        assertEquals(150, runner.getInstructions());
+    }
+
+    @Test
+    public void specialHiresRom() throws IOException {
+        // 64x64 roms start with 1260, ui starts them in hires from 0x2C0
+        File rom = File.createTempFile("hires", ".ch8");
+        rom.deleteOnExit();
+        Files.write(rom.toPath(), new byte[]{0x12, 0x60});
+        HeadlessRunner runner = new HeadlessRunner(rom.getPath(), new Configs());
+        assertTrue(runner.getPixels().isResolutionMode());
+        assertEquals(0x2C0, runner.getExecuter().getMemory().getPc());
+    }
+}
@@ -0,0 +1,76 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class InputLogTest {
+
+    private File rom;
+
+    @Before
+    public void setUp() throws IOException {
+        // C0FF random to v0, E19E skips when key 0 is pressed, 1208 jump,
+        // 7201 counts frames with key down, 8304 sums random numbers to v3, 1200 loop
+        this.rom = File.createTempFile("inputLogTest", ".ch8");
+        rom.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(rom)) {
+            out.write(new byte[]{(byte) 0xC0, (byte) 0xFF, (byte) 0xE1, (byte) 0x9E, 0x12, 0x08,
+                0x72, 0x01, (byte) 0x83, 0x04, 0x12, 0x00});
+        }
+    }
+
+    @Test
+    public void replayIsBitExact() throws IOException {
+        // record a session by hand, key 0 is held on some of the frames
+        HeadlessRunner recorded = new HeadlessRunner(rom.getPath(), new Configs());
+        Executer executer = recorded.getExecuter();
+        executer.seed(1234);
+        InputLog log = new InputLog(1234);
+        for (int frame = 0; frame < 300; frame++) {
+            recorded.getKeys().setMask(frame % 50 < 20 ? 1 : 0);
+            int cycles = frame < 150 ? 10 : 25;
+            log.record(executer.getFrameCount(), recorded.getKeys().getMask(), cycles);
+            executer.frame(cycles);
+        }
+        // only changes are stored
+        assertEquals(12, log.size());
+        assertEquals(300, log.getLength());
+
+        File file = File.createTempFile("inputLogTest", ".txt");
+        file.deleteOnExit();
+        log.save(file.toPath());
+
+        HeadlessRunner replayed = new HeadlessRunner(rom.getPath(), new Configs());
+        replayed.replay(InputLog.load(file.toPath()));
+        assertArrayEquals(executer.getMemory().getV(), replayed.getExecuter().getMemory().getV());
+        assertEquals(executer.getMemory().getPc(), replayed.getExecuter().getMemory().getPc());
+        assertEquals(150 * 10 + 150 * 25, replayed.getInstructions());
+        // key was held so the counter moved
+        assertNotEquals(0, replayed.getExecuter().getMemory().getV()[2]);
+    }
+
+    @Test
+    public void seedGivesSameNumbers() {
+        HeadlessRunner first = new HeadlessRunner(rom.getPath(), new Configs());
+        HeadlessRunner second = new HeadlessRunner(rom.getPath(), new Configs());
+        first.getExecuter().seed(99);
+        second.getExecuter().seed(99);
+        first.run(1000);
+        second.run(1000);
+        assertEquals(first.getExecuter().getMemory().getV()[3], second.getExecuter().getMemory().getV()[3]);
+    }
+
+    @Test(expected = IOException.class)
+    public void notALog() throws IOException {
+        File file = File.createTempFile("inputLogTest", ".txt");
+        file.deleteOnExit();
+        InputLog.load(file.toPath());
+    }
+}
@@ -1,6 +1,7 @@
 package com.chip8.emulator;
 
 import com.chip8.configs.DefaultValues;
+import com.chip8.ui.KeyHandler;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import org.junit.Before;
@@ -11,10 +12,12 @@ import static org.junit.Assert.*;
 public class KeysTest {
 
     private Keys keys;
+    private KeyHandler handler;
 
     @Before
     public void setUp() {
         this.keys = new Keys();
+        this.handler = new KeyHandler(keys);
     }
 
     @Test
@@ -31,14 +34,16 @@ public class KeysTest {
             }
             // press key
             KeyEvent event = new KeyEvent(KeyEvent.KEY_PRESSED, s, s, KeyCode.valueOf(s), false, false, false, false);
-            keys.setKey(event);
+            handler.setKey(event);
+            keys.latch();
             Integer indexPointer = Integer.valueOf(keyIndex.substring(i, i + 1), 16);
-            assertTrue(keys.getKeys()[indexPointer]);
+            assertTrue(keys.isPressed(indexPointer));
 
             // release key
             event = new KeyEvent(KeyEvent.KEY_RELEASED, s, s, KeyCode.valueOf(s), false, false, false, false);
-            keys.setKey(event);
-            assertFalse(keys.getKeys()[indexPointer]);
+            handler.setKey(event);
+            keys.latch();
+            assertFalse(keys.isPressed(indexPointer));
             i++;
         }
     }
@@ -48,9 +53,44 @@ public class KeysTest {
         // check that nothing is pressed when key that is not bound
         // is pressed, here simulating pressing key "enter"
         KeyEvent event = new KeyEvent(KeyEvent.KEY_PRESSED, "Enter", "Enter", KeyCode.ENTER, false, false, false, false);
-        keys.setKey(event);
-        for (boolean b : keys.getKeys()) {
-            assertFalse(b);
-        }
+        handler.setKey(event);
+        assertEquals(0, keys.getPending());
+    }
+
+    @Test
+    public void rebindIsPickedUp() {
+        KeyEvent press = new KeyEvent(KeyEvent.KEY_PRESSED, "P", "P", KeyCode.P, false, false, false, false);
+        handler.setKey(press);
+        assertEquals(0, keys.getPending());
+        // options replace the binds with a new array, first bind is key 1
+        String[] binds = keys.getBinds().clone();
+        binds[0] = "P";
+        keys.setBinds(binds);
+        handler.setKey(press);
+        assertEquals(1 << 1, keys.getPending());
+    }
+
+    @Test
+    public void maskAndSingleKeys() {
+        keys.setKey(0xA, true);
+        keys.setKey(3, true);
+        assertEquals(1 << 0xA | 1 << 3, keys.latch());
+        keys.setKey(0xA, false);
+        keys.latch();
+        assertTrue(keys.isPressed(3));
+        assertFalse(keys.isPressed(0xA));
+        keys.setMask(0);
+        assertFalse(keys.isPressed(3));
+    }
+
+    @Test
+    public void keysWaitForLatch() {
+        keys.setKey(5, true);
+        // emulator doesn't see the key in the middle of a frame
+        assertFalse(keys.isPressed(5));
+        assertEquals(0, keys.getMask());
+        assertEquals(1 << 5, keys.getPending());
+        assertEquals(1 << 5, keys.latch());
+        assertTrue(keys.isPressed(5));
     }
 }
@@ -21,14 +21,76 @@ public class PixelManagerTest {
         // then erase it
         pixels.draw(0, 0, 1);
         // now it should have fade value
-        assertEquals(0.95, pixels.getFadeMap().get(0).get(0).getFade(), 0.01);
+        assertEquals(0.95, pixels.getFade(0, 0), 0.01);
         // set fade speed to 0.05
         pixels.setFadeSpeed(0.05);
         pixels.fade();
-        assertEquals(0.90, pixels.getFadeMap().get(0).get(0).getFade(), 0.01);
+        assertEquals(0.90, pixels.getFade(0, 0), 0.01);
         for (int i = 0; i < 10; i++) {
             pixels.fade();
         }
-        assertEquals(0.40, pixels.getFadeMap().get(0).get(0).getFade(), 0.01);
+        assertEquals(0.40, pixels.getFade(0, 0), 0.01);
+        for (int i = 0; i < 10; i++) {
+            pixels.fade();
+        }
+        // faded out pixels leave the active list
+        assertEquals(0.0, pixels.getFade(0, 0), 0.01);
+        assertEquals(0, pixels.getFadingCount());
+    }
+
+    @Test
+    public void drawRowCollision() {
+        pixels = new PixelManager(128, 64);
+        assertFalse(pixels.drawRow(10, 3, 0b10100000, 8, 1, 1));
+        assertTrue(pixels.getPixel(10, 3, 1));
+        assertFalse(pixels.getPixel(11, 3, 1));
+        assertTrue(pixels.getPixel(12, 3, 1));
+        // overlapping row erases pixel 12 and reports collision
+        assertTrue(pixels.drawRow(12, 3, 0b10000000, 8, 1, 1));
+        assertFalse(pixels.getPixel(12, 3, 1));
+        // other plane is not checked
+        assertFalse(pixels.drawRow(10, 3, 0b10000000, 8, 0, 0));
+    }
+
+    @Test
+    public void drawRowWraps() {
+        pixels = new PixelManager(128, 64);
+        // 16 wide row starting at x 120 wraps to the left edge, row 66 wraps to 2
+        pixels.drawRow(120, 66, 0xFFFF, 16, 1, 1);
+        assertTrue(pixels.getPixel(127, 2, 1));
+        assertTrue(pixels.getPixel(0, 2, 1));
+        assertTrue(pixels.getPixel(7, 2, 1));
+        assertFalse(pixels.getPixel(8, 2, 1));
+        assertFalse(pixels.getPixel(119, 2, 1));
+        // row crossing the middle of the screen
+        pixels.drawRow(60, 5, 0xFF, 8, 1, 1);
+        assertTrue(pixels.getPixel(63, 5, 1));
+        assertTrue(pixels.getPixel(64, 5, 1));
+        assertTrue(pixels.getPixel(67, 5, 1));
+        assertFalse(pixels.getPixel(68, 5, 1));
+    }
+
+    @Test
+    public void scrollAcrossWordBoundary() {
+        pixels = new PixelManager(128, 64);
+        pixels.setResolutionMode(true);
+        pixels.drawRow(62, 0, 0b11000000, 8, 1, 1);
+        pixels.scrollRight();
+        assertFalse(pixels.getPixel(62, 0, 1));
+        assertTrue(pixels.getPixel(66, 0, 1));
+        assertTrue(pixels.getPixel(67, 0, 1));
+        pixels.scrollLeft();
+        pixels.scrollLeft();
+        assertTrue(pixels.getPixel(58, 0, 1));
+        assertTrue(pixels.getPixel(59, 0, 1));
+        assertFalse(pixels.getPixel(63, 0, 1));
+        // pixels scrolled off the edge are gone
+        pixels.scrollDown(15);
+        pixels.scrollDown(15);
+        pixels.scrollDown(15);
+        pixels.scrollDown(15);
+        pixels.scrollDown(15);
+        assertEquals(0L, pixels.getDisplay()[1][0] | pixels.getDisplay()[1][1]);
+        assertFalse(pixels.getPixel(58, 60, 1));
     }
 }
@@ -40,11 +40,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll, default scroll in lores mode is 2 pixels
         decoder.decode((short) 0x00FB);
-        assertTrue(decoder.getPixels().getDisplay()[12][10][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(12, 10, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[12][10][1]);
+        assertFalse(decoder.getPixels().getPixel(12, 10, 1));
     }
 
     @Test
@@ -55,11 +55,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll, default scroll in hires mode is 4 pixels
         decoder.decode((short) 0x00FB);
-        assertTrue(decoder.getPixels().getDisplay()[14][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
+        assertTrue(decoder.getPixels().getPixel(14, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[14][10][0]);
+        assertFalse(decoder.getPixels().getPixel(14, 10, 0));
     }
 
     @Test
@@ -69,14 +69,14 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll, default scroll in lores mode is 2 pixels
         decoder.decode((short) 0x00FB);
-        assertTrue(decoder.getPixels().getDisplay()[12][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
-        assertTrue(decoder.getPixels().getDisplay()[12][10][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(12, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
+        assertTrue(decoder.getPixels().getPixel(12, 10, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[12][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[12][10][1]);
+        assertFalse(decoder.getPixels().getPixel(12, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(12, 10, 1));
     }
 
     @Test
@@ -85,11 +85,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll, default scroll in lores mode is 2 pixels
         decoder.decode((short) 0x00FC);
-        assertTrue(decoder.getPixels().getDisplay()[8][10][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(8, 10, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[8][10][1]);
+        assertFalse(decoder.getPixels().getPixel(8, 10, 1));
     }
 
     @Test
@@ -100,11 +100,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD010);
         // scroll, default scroll in hires mode is 4 pixels
         decoder.decode((short) 0x00FC);
-        assertTrue(decoder.getPixels().getDisplay()[6][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
+        assertTrue(decoder.getPixels().getPixel(6, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[6][10][0]);
+        assertFalse(decoder.getPixels().getPixel(6, 10, 0));
     }
 
     @Test
@@ -116,14 +116,14 @@ public class PlaneTest {
         decoder.decode((short) 0xD010);
         // scroll, default scroll in hires mode is 4 pixels
         decoder.decode((short) 0x00FC);
-        assertTrue(decoder.getPixels().getDisplay()[6][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
-        assertTrue(decoder.getPixels().getDisplay()[6][10][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(6, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
+        assertTrue(decoder.getPixels().getPixel(6, 10, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[6][10][0]);
-        assertFalse(decoder.getPixels().getDisplay()[6][10][1]);
+        assertFalse(decoder.getPixels().getPixel(6, 10, 0));
+        assertFalse(decoder.getPixels().getPixel(6, 10, 1));
     }
 
     @Test
@@ -135,11 +135,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD010);
         // scroll up by 8
         decoder.decode((short) 0x00D8);
-        assertTrue(decoder.getPixels().getDisplay()[10][2][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(10, 2, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][2][1]);
+        assertFalse(decoder.getPixels().getPixel(10, 2, 1));
     }
 
     @Test
@@ -150,11 +150,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll 8 pixels up
         decoder.decode((short) 0x00D8);
-        assertTrue(decoder.getPixels().getDisplay()[10][2][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
+        assertTrue(decoder.getPixels().getPixel(10, 2, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][2][0]);
+        assertFalse(decoder.getPixels().getPixel(10, 2, 0));
     }
 
     @Test
@@ -164,14 +164,14 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll up by 8, but in lores 4
         decoder.decode((short) 0x00D8);
-        assertTrue(decoder.getPixels().getDisplay()[10][6][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
-        assertTrue(decoder.getPixels().getDisplay()[10][6][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(10, 6, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
+        assertTrue(decoder.getPixels().getPixel(10, 6, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][6][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][6][1]);
+        assertFalse(decoder.getPixels().getPixel(10, 6, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 6, 1));
     }
 
     @Test
@@ -183,11 +183,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD010);
         // scroll up by 8
         decoder.decode((short) 0x00C8);
-        assertTrue(decoder.getPixels().getDisplay()[10][18][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(10, 18, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][18][1]);
+        assertFalse(decoder.getPixels().getPixel(10, 18, 1));
     }
 
     @Test
@@ -198,11 +198,11 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll 8 pixels up
         decoder.decode((short) 0x00C8);
-        assertTrue(decoder.getPixels().getDisplay()[10][18][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
+        assertTrue(decoder.getPixels().getPixel(10, 18, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][18][0]);
+        assertFalse(decoder.getPixels().getPixel(10, 18, 0));
     }
 
     @Test
@@ -212,13 +212,13 @@ public class PlaneTest {
         decoder.decode((short) 0xD011);
         // scroll down by 8, but in lores 4
         decoder.decode((short) 0x00C8);
-        assertTrue(decoder.getPixels().getDisplay()[10][14][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][0]);
-        assertTrue(decoder.getPixels().getDisplay()[10][14][1]);
-        assertFalse(decoder.getPixels().getDisplay()[10][10][1]);
+        assertTrue(decoder.getPixels().getPixel(10, 14, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 0));
+        assertTrue(decoder.getPixels().getPixel(10, 14, 1));
+        assertFalse(decoder.getPixels().getPixel(10, 10, 1));
         // clear then
         decoder.decode((short) 0x00E0);
-        assertFalse(decoder.getPixels().getDisplay()[10][14][0]);
-        assertFalse(decoder.getPixels().getDisplay()[10][14][1]);
+        assertFalse(decoder.getPixels().getPixel(10, 14, 0));
+        assertFalse(decoder.getPixels().getPixel(10, 14, 1));
     }
 }
@@ -0,0 +1,87 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProfilerTest {
+
+    @Test
+    public void countsFamiliesAndPcs() {
+        HeadlessRunner runner = new HeadlessRunner("roms/IBM", new Configs());
+        Profiler profiler = new Profiler();
+        runner.getExecuter().setProfiler(profiler);
+        runner.run(500);
+        assertEquals(500, profiler.getTotal());
+        // ibm logo starts with clear screen and draws six sprites before looping at 0x228
+        assertEquals(1, profiler.getPcCount(0x200));
+        assertEquals(6, profiler.getFamilyCount(0xD));
+        assertEquals(6, profiler.getDrawCalls());
+        assertTrue(profiler.getDrawNanos() > 0);
+        assertEquals(0x228, profiler.hottest(1)[0]);
+    }
+
+    @Test
+    public void sameResultAsWithoutProfiler() {
+        HeadlessRunner profiled = new HeadlessRunner("roms/IBM", new Configs());
+        HeadlessRunner plain = new HeadlessRunner("roms/IBM", new Configs());
+        profiled.getExecuter().setProfiler(new Profiler());
+        profiled.run(500);
+        plain.run(500);
+        assertEquals(plain.getPixels().displayHash(), profiled.getPixels().displayHash());
+    }
+
+    @Test
+    public void scrollsAreTimed() {
+        Memory m = new Memory();
+        Decoder decoder = new Decoder(m, new Fetcher(m), new PixelManager(128, 64), new Keys(), new Configs());
+        Profiler profiler = new Profiler();
+        for (int opcode : new int[]{0x00C4, 0x00D2, 0x00FB, 0x00FC, 0x00E0}) {
+            profiler.execute(decoder, Decoder.lookup((short) opcode), (short) opcode, 0x200);
+        }
+        assertEquals(4, profiler.getScrollCalls());
+        assertEquals(5, profiler.getPcCount(0x200));
+    }
+
+    @Test
+    public void csvAndJson() {
+        Profiler profiler = new Profiler();
+        Memory m = new Memory();
+        Decoder decoder = new Decoder(m, new Fetcher(m), new PixelManager(128, 64), new Keys(), new Configs());
+        profiler.execute(decoder, Decoder.lookup((short) 0x6A01), (short) 0x6A01, 0x202);
+        profiler.execute(decoder, Decoder.lookup((short) 0x6A01), (short) 0x6A01, 0x202);
+        profiler.execute(decoder, Decoder.lookup((short) 0x7A01), (short) 0x7A01, 0x204);
+        String csv = profiler.toCsv();
+        assertTrue(csv.startsWith("type,name,count,nanos\n"));
+        assertTrue(csv.contains("family,6XNN,2,\n"));
+        assertTrue(csv.indexOf("pc,0x202,2,") < csv.indexOf("pc,0x204,1,"));
+        String json = profiler.toJson();
+        assertTrue(json.contains("\"7XNN\": 1"));
+        assertTrue(json.contains("{\"pc\": \"0x202\", \"count\": 2}"));
+        profiler.reset();
+        assertEquals(0, profiler.getTotal());
+        assertEquals(0, profiler.hottest(10).length);
+    }
+
+    @Test
+    public void hottestWhileCounting() throws InterruptedException {
+        HeadlessRunner runner = new HeadlessRunner("roms/Particle Demo [zeroZshadow, 2008].ch8", new Configs());
+        Profiler profiler = new Profiler();
+        runner.getExecuter().setProfiler(profiler);
+        Thread emulation = new Thread(() -> runner.run(200_000));
+        emulation.start();
+        // same as the profiler window refreshing while the rom runs
+        while (emulation.isAlive()) {
+            int[] hot = profiler.hottest(20);
+            for (int i = 1; i < hot.length; i++) {
+                assertNotEquals(hot[i - 1], hot[i]);
+            }
+        }
+        emulation.join();
+        int[] hot = profiler.hottest(20);
+        for (int i = 1; i < hot.length; i++) {
+            assertTrue(profiler.getPcCount(hot[i - 1]) >= profiler.getPcCount(hot[i]));
+        }
+    }
+}
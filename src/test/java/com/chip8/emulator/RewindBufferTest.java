@@ -0,0 +1,83 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RewindBufferTest {
+
+    private HeadlessRunner runner;
+    private Memory m;
+
+    @Before
+    public void setUp() {
+        this.runner = new HeadlessRunner("roms/IBM", new Configs());
+        this.m = runner.getExecuter().getMemory();
+    }
+
+    @Test
+    public void rewindRestoresEarlierFrames() {
+        RewindBuffer rewind = new RewindBuffer(1024 * 1024);
+        long[] hashes = new long[100];
+        short[] pcs = new short[100];
+        byte[] ram = null;
+        for (int i = 0; i < 100; i++) {
+            runner.runFrames(1);
+            // changes ram now and then so deltas have pages in them
+            m.write(0x800 + i, (byte) i);
+            if (i == 70) {
+                ram = m.getRam().clone();
+            }
+            rewind.capture(m, runner.getPixels());
+            hashes[i] = runner.getPixels().displayHash();
+            pcs[i] = m.getPc();
+        }
+        assertEquals(100, rewind.frames());
+        // frame 99 is the current state, first rewind goes to the one before it
+        for (int i = 98; i >= 0; i--) {
+            assertTrue(rewind.rewind(m, runner.getPixels()));
+            assertEquals(hashes[i], runner.getPixels().displayHash());
+            assertEquals(pcs[i], m.getPc());
+            if (i == 70) {
+                assertArrayEquals(ram, m.getRam());
+            }
+        }
+        assertFalse(rewind.rewind(m, runner.getPixels()));
+    }
+
+    @Test
+    public void staysUnderMemoryCap() {
+        RewindBuffer rewind = new RewindBuffer(64 * 1024);
+        for (int i = 0; i < 2000; i++) {
+            runner.runFrames(1);
+            m.write(0x800 + (i * 300) % 0x7000, (byte) i);
+            rewind.capture(m, runner.getPixels());
+        }
+        assertTrue(rewind.getSize() <= 64 * 1024);
+        assertTrue(rewind.frames() > 0);
+        assertTrue(rewind.frames() < 2000);
+        // oldest frame left is still restorable
+        while (rewind.rewind(m, runner.getPixels())) {
+            assertTrue(m.getPc() >= 0x200);
+        }
+    }
+
+    @Test
+    public void ramChangedOutsideWritesIsCaptured() {
+        RewindBuffer rewind = new RewindBuffer(1024 * 1024);
+        SaveState states = new SaveState();
+        m.write(0x900, (byte) 1);
+        byte[] state = states.save(m, runner.getPixels());
+        m.write(0x900, (byte) 2);
+        rewind.capture(m, runner.getPixels()); // keyframe with 2
+        // loading a state copies ram in place, page has to end up in the next delta
+        states.load(state, m, runner.getPixels());
+        rewind.capture(m, runner.getPixels());
+        rewind.capture(m, runner.getPixels());
+        m.write(0x900, (byte) 3);
+        assertTrue(rewind.rewind(m, runner.getPixels()));
+        assertEquals(1, m.getRam()[0x900]);
+    }
+}
@@ -0,0 +1,33 @@
+package com.chip8.emulator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RngTest {
+
+    @Test
+    public void sameSeedSameNumbers() {
+        Rng first = new Rng(42);
+        Rng second = new Rng(1);
+        second.seed(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextByte(), second.nextByte());
+        }
+    }
+
+    @Test
+    public void coversEveryByte() {
+        // zero seed works too and every value shows up roughly evenly
+        Rng rng = new Rng(0);
+        int[] counts = new int[256];
+        for (int i = 0; i < 256 * 1000; i++) {
+            int b = rng.nextByte();
+            assertTrue(b >= 0 && b <= 255);
+            counts[b]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800 && count < 1200);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import com.chip8.configs.DefaultValues;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RomFarmTest {
+
+    private final List<String> roms = Arrays.asList("roms/IBM", "roms/Pong [Paul Vervalin, 1990].ch8",
+            "roms/Space Invaders [David Winter].ch8", "roms/Trip8 Demo (2008) [Revival Studios].ch8");
+
+    @Test
+    public void sameHashesAsRunningOneByOne() {
+        Configs configs = new Configs(new DefaultValues());
+        List<RomFarm.Result> results = new RomFarm(configs, 7, 3).run(roms, 300);
+        assertEquals(roms.size(), results.size());
+        for (int i = 0; i < roms.size(); i++) {
+            HeadlessRunner runner = new HeadlessRunner(roms.get(i), configs);
+            runner.getExecuter().seed(7);
+            runner.runFrames(300);
+            RomFarm.Result result = results.get(i);
+            assertEquals(roms.get(i), result.getRom());
+            assertNull(result.getError());
+            assertEquals(runner.getInstructions(), result.getInstructions());
+            assertEquals(runner.getPixels().displayHash(), result.getHash());
+        }
+    }
+
+    @Test
+    public void missingRomIsReported() {
+        List<RomFarm.Result> results = new RomFarm(new Configs(new DefaultValues()), 0, 2).run(Arrays.asList("roms/IBM", "noFileHere"), 10);
+        assertNull(results.get(0).getError());
+        assertNotNull(results.get(1).getError());
+        String report = RomFarm.report(results);
+        assertTrue(report.startsWith("rom,hash,instructions,ms,error\n\"roms/IBM\","));
+        assertEquals(3, report.split("\n").length);
+    }
+}
@@ -0,0 +1,122 @@
+package com.chip8.emulator;
+
+import com.chip8.configs.Configs;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SaveStateTest {
+
+    private HeadlessRunner runner;
+    private SaveState states;
+
+    @Before
+    public void setUp() {
+        this.runner = new HeadlessRunner("roms/IBM", new Configs());
+        this.states = new SaveState();
+    }
+
+    @Test
+    public void saveAndLoad() {
+        runner.run(100);
+        Memory m = runner.getExecuter().getMemory();
+        m.getStack().push((short) 0x234);
+        m.getStack().push((short) 0x456);
+        m.setDelayTimer((byte) 40);
+        byte[] state = states.save(m, runner.getPixels());
+        // mostly empty ram compresses to a fraction of its size
+        assertTrue(state.length < 2048);
+        long hash = runner.getPixels().displayHash();
+        short pc = m.getPc();
+        byte[] ram = m.getRam().clone();
+
+        // run further and mess up the state, then load
+        runner.run(200);
+        m.write(0x300, (byte) 0x55);
+        m.getStack().clear();
+        m.getV()[3] = 99;
+        states.load(state, m, runner.getPixels());
+
+        assertEquals(hash, runner.getPixels().displayHash());
+        assertEquals(pc, m.getPc());
+        assertArrayEquals(ram, m.getRam());
+        assertEquals(40, m.getDelayTimer());
+        assertEquals(2, m.getStack().size());
+        assertEquals(0x456, m.getStack().pop());
+        assertEquals(0x234, m.getStack().pop());
+    }
+
+    @Test
+    public void loadedStateContinuesTheSame() {
+        runner.run(50);
+        byte[] state = states.save(runner.getExecuter().getMemory(), runner.getPixels());
+        runner.run(400);
+        long expected = runner.getPixels().displayHash();
+
+        HeadlessRunner other = new HeadlessRunner("roms/IBM", new Configs());
+        states.load(state, other.getExecuter().getMemory(), other.getPixels());
+        other.run(400);
+        assertEquals(expected, other.getPixels().displayHash());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAState() {
+        states.load(new byte[]{1, 2, 3, 4, 5, 6}, new Memory(), new PixelManager(128, 64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stackHasToFit() {
+        Memory m = runner.getExecuter().getMemory();
+        for (int i = 0; i < 20; i++) {
+            m.getStack().push((short) (0x200 + i * 2));
+        }
+        byte[] state = states.save(m, runner.getPixels());
+        states.load(state, new Memory(16), runner.getPixels());
+    }
+
+    @Test
+    public void badStateChangesNothing() {
+        runner.run(100);
+        Memory m = runner.getExecuter().getMemory();
+        byte[] state = states.save(m, runner.getPixels());
+        byte[] cut = Arrays.copyOf(state, state.length - 8);
+        runner.run(200);
+        m.getV()[3] = 99;
+        short pc = m.getPc();
+        byte[] ram = m.getRam().clone();
+        long hash = runner.getPixels().displayHash();
+        try {
+            states.load(cut, m, runner.getPixels());
+            fail("cut state was loaded");
+        } catch (IllegalArgumentException expected) {
+            // registers, ram and display are left as they were
+        }
+        assertEquals(99, m.getV()[3]);
+        assertEquals(pc, m.getPc());
+        assertArrayEquals(ram, m.getRam());
+        assertEquals(hash, runner.getPixels().displayHash());
+    }
+
+    @Test
+    public void stackTooDeepChangesNothing() {
+        Memory m = runner.getExecuter().getMemory();
+        for (int i = 0; i < 20; i++) {
+            m.getStack().push((short) (0x200 + i * 2));
+        }
+        byte[] state = states.save(m, runner.getPixels());
+        Memory small = new Memory(16);
+        small.getStack().push((short) 0x300);
+        small.setPc((short) 0x400);
+        try {
+            states.load(state, small, runner.getPixels());
+            fail("stack did not fit");
+        } catch (IllegalArgumentException expected) {
+            // stack and pc are left as they were
+        }
+        assertEquals(1, small.getStack().size());
+        assertEquals(0x400, small.getPc());
+    }
+}